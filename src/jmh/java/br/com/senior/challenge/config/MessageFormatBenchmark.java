@@ -0,0 +1,153 @@
+package br.com.senior.challenge.config;
+
+import br.com.senior.challenge.builder.ItemBuilder;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.builder.SalesOrderItemBuilder;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.entities.enums.OrderStatus;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compara o tamanho e o custo de codificação e decodificação de uma página HAL de 1000 itens do pedido
+ * em JSON, Smile e CBOR, com os mesmos módulos do {@link DefaultMapper}. O contador auxiliar {@code bytes} soma
+ * o tamanho das mensagens codificadas ou decodificadas, dividido pela vazão resulta no tamanho de cada formato. Execute com {@code mvn -Pbenchmark -DskipTests verify -Djmh.benchmarks=MessageFormatBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageFormatBenchmark {
+
+    /**
+     * Formato da mensagem
+     */
+    public enum Format {
+        JSON(new JsonFactory()),
+        SMILE(new SmileFactory()),
+        CBOR(new CBORFactory());
+
+        private final JsonFactory factory;
+
+        Format(JsonFactory factory) {
+            this.factory = factory;
+        }
+    }
+
+    private static final TypeReference<PagedModel<EntityModel<SalesOrderItem>>> PAGE_TYPE =
+            new TypeReference<PagedModel<EntityModel<SalesOrderItem>>>() {
+            };
+
+    @Param({"1000"})
+    private int lines;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private Format format;
+
+    private ObjectMapper mapper;
+    private PagedModel<EntityModel<SalesOrderItem>> page;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+        mapper = new DefaultMapper(applicationContext, mock(MappingContext.class)).withFactory(format.factory);
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        page = newPage();
+        payload = mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encode(Payload counters) throws IOException {
+        final byte[] encoded = mapper.writeValueAsBytes(page);
+        counters.bytes += encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public PagedModel<EntityModel<SalesOrderItem>> decode(Payload counters) throws IOException {
+        counters.bytes += payload.length;
+        return mapper.readValue(payload, PAGE_TYPE);
+    }
+
+    /**
+     * Bytes das mensagens processadas, publicados pelo JMH por unidade de tempo junto da vazão
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Payload {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    private PagedModel<EntityModel<SalesOrderItem>> newPage() {
+        SalesOrder order = SalesOrderBuilder.newSalesOrder()
+                .withReference("benchmark")
+                .withStatus(OrderStatus.OPENNED)
+                .build();
+        order.setId(UUID.randomUUID());
+
+        List<EntityModel<SalesOrderItem>> content = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Item item = ItemBuilder.newItem()
+                    .withName("produto " + i)
+                    .withDescription("descrição do produto " + i)
+                    .withType(i % 3 == 0 ? ItemType.SERVICE : ItemType.PRODUCT)
+                    .withActive(true)
+                    .build();
+            item.setId(UUID.randomUUID());
+            SalesOrderItem orderItem = SalesOrderItemBuilder.newSalesOrder()
+                    .withSalesOrder(order)
+                    .withItem(item)
+                    .withQuantity(BigDecimal.valueOf(i % 10 + 1))
+                    .withPrice(BigDecimal.valueOf(1999 + i, 2))
+                    .build();
+            orderItem.setId(UUID.randomUUID());
+
+            String orderHref = "http://localhost:8080/api/v1/sales-order/" + order.getId();
+            content.add(new EntityModel<>(orderItem,
+                    new Link(orderHref + "/item/" + orderItem.getId()),
+                    new Link("http://localhost:8080/api/v1/item/" + item.getId(), "item"),
+                    new Link(orderHref, "sales-order")));
+        }
+        return new PagedModel<>(content, new PagedModel.PageMetadata(lines, 0, lines),
+                new Link("http://localhost:8080/api/v1/sales-order/" + order.getId() + "/item?page=0&size=" + lines));
+    }
+
+}
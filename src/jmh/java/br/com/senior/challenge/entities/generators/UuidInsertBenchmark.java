@@ -0,0 +1,83 @@
+package br.com.senior.challenge.entities.generators;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a taxa de inserção com chaves aleatórias e ordenadas pelo tempo em uma tabela com milhões de registros.
+ * Por padrão utiliza H2 em arquivo. Para PostgreSQL informe {@code -Dbenchmark.jdbc.url}, {@code -Dbenchmark.jdbc.username}
+ * e {@code -Dbenchmark.jdbc.password}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidInsertBenchmark {
+
+    private static final String TABLE = "BENCHMARK_UUID_INSERT";
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private UuidStrategy strategy;
+
+    @Param({"2000000"})
+    private int rows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:h2:file:./target/benchmark/uuid-insert"),
+                System.getProperty("benchmark.jdbc.username", "sa"),
+                System.getProperty("benchmark.jdbc.password", ""));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (ID UUID PRIMARY KEY, DS_PAYLOAD VARCHAR(64) NOT NULL)");
+        }
+        insert = connection.prepareStatement("INSERT INTO " + TABLE + " (ID, DS_PAYLOAD) VALUES (?, ?)");
+        for (int i = 0; i < rows; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + TABLE);
+        }
+        connection.commit();
+        insert.close();
+        connection.close();
+    }
+
+    /**
+     * Insere um lote de {@value BATCH_SIZE} registros, cada operação corresponde a um lote
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insert() throws SQLException {
+        insertBatch();
+    }
+
+    private void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, strategy.generate());
+            insert.setString(2, "benchmark");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+}
@@ -0,0 +1,145 @@
+package br.com.senior.challenge.resources.processors;
+
+import br.com.senior.challenge.builder.ItemBuilder;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.builder.SalesOrderItemBuilder;
+import br.com.senior.challenge.controllers.ItemController;
+import br.com.senior.challenge.controllers.SalesOrderController;
+import br.com.senior.challenge.controllers.SalesOrderItemController;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.entities.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.rest.core.config.EnumTranslationConfiguration;
+import org.springframework.data.rest.core.config.MetadataConfiguration;
+import org.springframework.data.rest.core.config.ProjectionDefinitionConfiguration;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.mockito.Mockito.mock;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Compara a geração dos links de uma página de itens do pedido com {@code linkTo(methodOn(...))} por entidade
+ * e com os {@link br.com.senior.challenge.controllers.utils.LinkTemplate} resolvidos na inicialização.
+ * Cada operação simula uma requisição nova, gerando os links de todos os itens da página.
+ * Execute com {@code mvn -Pbenchmark -DskipTests verify -Djmh.benchmarks=LinkTemplateBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinkTemplateBenchmark {
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private RepositoryRestConfiguration configuration;
+    private SalesOrderItemProcessor processor;
+    private List<SalesOrderItem> page;
+
+    @Setup
+    public void setup() {
+        configuration = new RepositoryRestConfiguration(new ProjectionDefinitionConfiguration(), new MetadataConfiguration(), mock(EnumTranslationConfiguration.class));
+        processor = new SalesOrderItemProcessor(configuration);
+
+        SalesOrder order = SalesOrderBuilder.newSalesOrder()
+                .withReference("benchmark")
+                .withStatus(OrderStatus.OPENNED)
+                .build();
+        order.setId(UUID.randomUUID());
+        Item item = ItemBuilder.newItem()
+                .withName("benchmark")
+                .withType(ItemType.PRODUCT)
+                .withActive(true)
+                .build();
+        item.setId(UUID.randomUUID());
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            SalesOrderItem orderItem = SalesOrderItemBuilder.newSalesOrder()
+                    .withSalesOrder(order)
+                    .withItem(item)
+                    .withQuantity(BigDecimal.ONE)
+                    .withPrice(BigDecimal.TEN)
+                    .build();
+            orderItem.setId(UUID.randomUUID());
+            page.add(orderItem);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public void methodOnLinks(Blackhole blackhole) {
+        newRequest();
+        String basePath = configuration.getBasePath().toString();
+        for (SalesOrderItem content : page) {
+            EntityModel<SalesOrderItem> model = new EntityModel<>(content);
+            SalesOrder order = content.getOrder();
+            model.add(applyBasePath(
+                    linkTo(methodOn(SalesOrderItemController.class).findByOrderIdAndId(order.getId(), content.getId())).withSelfRel(),
+                    basePath));
+            model.add(applyBasePath(
+                    linkTo(methodOn(ItemController.class).findById(content.getItem().getId(), null)).withRel("item"),
+                    basePath));
+            model.add(applyBasePath(
+                    linkTo(methodOn(SalesOrderController.class).findById(order.getId(), null)).withRel("sales-order"),
+                    basePath));
+            blackhole.consume(model);
+        }
+    }
+
+    @Benchmark
+    public void linkTemplates(Blackhole blackhole) {
+        newRequest();
+        for (SalesOrderItem content : page) {
+            blackhole.consume(processor.process(new EntityModel<>(content)));
+        }
+    }
+
+    /**
+     * Prefixa o {@literal basePath} ao caminho de um {@link Link} gerado por {@code linkTo(methodOn(...))},
+     * como os processadores faziam antes dos {@link br.com.senior.challenge.controllers.utils.LinkTemplate}
+     *
+     * @param link     {@link Link} gerado pelo Spring HATEOAS
+     * @param basePath Caminho base do Spring Data REST
+     * @return Novo {@link Link} iniciando no {@literal basePath}
+     */
+    private static Link applyBasePath(Link link, String basePath) {
+        URI uri = link.toUri();
+        try {
+            URI newUri = new URI(uri.getScheme(), uri.getUserInfo(), uri.getHost(),
+                    uri.getPort(), basePath + uri.getPath(), uri.getQuery(), uri.getFragment());
+            return new Link(newUri.toString(), link.getRel());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Link não é válido " + uri);
+        }
+    }
+
+    private void newRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/sales-order")));
+    }
+
+}
@@ -0,0 +1,121 @@
+package br.com.senior.challenge.resources.rules;
+
+import br.com.senior.challenge.builder.ItemBuilder;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.builder.SalesOrderItemBuilder;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.entities.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks do cálculo de preços do pedido ({@link SalesOrderPricing}), sobre pedidos sintéticos de 10 a 100 mil itens.
+ * Execute com {@code mvn -Pbenchmark -DskipTests verify}, que inclui o profiler de GC (bytes alocados por operação)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    /**
+     * Mistura de tipos dos itens do pedido
+     */
+    public enum Mix {
+        PRODUCTS,
+        MIXED
+    }
+
+    @Param({"10", "1000", "100000"})
+    private int lines;
+
+    @Param({"PRODUCTS", "MIXED"})
+    private Mix mix;
+
+    private SalesOrderPricing pricing;
+    private SalesOrder order;
+    private SalesOrderItem previous;
+    private SalesOrderItem current;
+
+    @Setup
+    public void setup() {
+        pricing = new SalesOrderPricing();
+        order = newOrder();
+        previous = order.getItens().iterator().next();
+        current = newLine(order, previous.getItem(), 7);
+        pricing.recalculate(order);
+    }
+
+    @Benchmark
+    public void totalAmount(Blackhole blackhole) {
+        for (SalesOrderItem item : order.getItens()) {
+            blackhole.consume(item.getTotalAmount());
+        }
+    }
+
+    @Benchmark
+    public Set<SalesOrderItem> itensByType() {
+        return order.getItensByType(ItemType.PRODUCT);
+    }
+
+    @Benchmark
+    public SalesOrder recalculate() {
+        return pricing.recalculate(order);
+    }
+
+    @Benchmark
+    public SalesOrder applyItemDelta() {
+        pricing.applyItemDelta(order, previous, current);
+        return pricing.applyItemDelta(order, current, previous);
+    }
+
+    private SalesOrder newOrder() {
+        SalesOrder salesOrder = SalesOrderBuilder.newSalesOrder()
+                .withReference("benchmark")
+                .withStatus(OrderStatus.OPENNED)
+                .withDiscount(BigDecimal.TEN)
+                .build();
+        Item product = newItem(ItemType.PRODUCT);
+        Item service = newItem(ItemType.SERVICE);
+        Set<SalesOrderItem> itens = new HashSet<>(lines * 2);
+        for (int i = 0; i < lines; i++) {
+            Item item = mix == Mix.MIXED && i % 2 == 1 ? service : product;
+            itens.add(newLine(salesOrder, item, i % 100 + 1));
+        }
+        salesOrder.setItens(itens);
+        return salesOrder;
+    }
+
+    private Item newItem(ItemType type) {
+        Item item = ItemBuilder.newItem()
+                .withName("benchmark " + type)
+                .withType(type)
+                .withActive(true)
+                .build();
+        item.setId(UUID.randomUUID());
+        return item;
+    }
+
+    private SalesOrderItem newLine(SalesOrder salesOrder, Item item, int quantity) {
+        SalesOrderItem salesOrderItem = SalesOrderItemBuilder.newSalesOrder()
+                .withSalesOrder(salesOrder)
+                .withItem(item)
+                .withQuantity(BigDecimal.valueOf(quantity))
+                .withPrice(new BigDecimal("19.99"))
+                .build();
+        salesOrderItem.setId(UUID.randomUUID());
+        return salesOrderItem;
+    }
+
+}
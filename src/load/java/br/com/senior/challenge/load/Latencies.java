@@ -0,0 +1,121 @@
+package br.com.senior.challenge.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências por endpoint em histogramas HDR, em microssegundos. Os intervalos são gravados em um log
+ * ({@code latency.hlog}), marcados com o endpoint, para comparação entre execuções no HistogramLogAnalyzer.
+ * Ao final são gravadas a distribuição de cada endpoint ({@code .hgrm}) e o resumo ({@code summary.csv})
+ */
+public class Latencies {
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> totals = new TreeMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final HistogramLogWriter log;
+
+    public Latencies(HistogramLogWriter log) {
+        this.log = log;
+        if (log != null) {
+            final long start = System.currentTimeMillis();
+            log.outputLogFormatVersion();
+            log.outputStartTime(start);
+            log.setBaseTime(start);
+            log.outputLegend();
+        }
+    }
+
+    /**
+     * Registra uma requisição do endpoint
+     *
+     * @param endpoint     Método e caminho do endpoint, com as variáveis do caminho
+     * @param elapsedNanos Tempo desde o início planejado da requisição
+     * @param success      Resposta 2xx
+     */
+    public void record(String endpoint, long elapsedNanos, boolean success) {
+        recorders.computeIfAbsent(endpoint, key -> new Recorder(HIGHEST_TRACKABLE, SIGNIFICANT_DIGITS))
+                .recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Acumula o intervalo registrado desde a última chamada e o grava no log
+     */
+    public synchronized void flushInterval() {
+        recorders.forEach((endpoint, recorder) -> {
+            final Histogram interval = recorder.getIntervalHistogram();
+            totals.computeIfAbsent(endpoint, key -> new Histogram(HIGHEST_TRACKABLE, SIGNIFICANT_DIGITS)).add(interval);
+            if (log != null && interval.getTotalCount() > 0) {
+                interval.setTag(endpoint);
+                log.outputIntervalHistogram(interval);
+            }
+        });
+    }
+
+    /**
+     * Imprime a vazão, os erros e os percentis de cada endpoint
+     *
+     * @param out        Saída
+     * @param elapsedSec Duração da medição, em segundos
+     */
+    public synchronized void print(PrintStream out, double elapsedSec) {
+        out.printf("%-40s %10s %10s %8s %10s %10s %10s %10s%n", "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        totals.forEach((endpoint, histogram) -> out.printf("%-40s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                endpoint, histogram.getTotalCount(), histogram.getTotalCount() / elapsedSec, errors(endpoint),
+                millis(histogram, 50), millis(histogram, 95), millis(histogram, 99), histogram.getMaxValue() / MICROS_PER_MILLI));
+    }
+
+    /**
+     * Grava a distribuição de cada endpoint e o resumo no diretório informado
+     *
+     * @param directory  Diretório da execução
+     * @param elapsedSec Duração da medição, em segundos
+     */
+    public synchronized void write(Path directory, double elapsedSec) throws IOException {
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.csv")))) {
+            summary.println("endpoint,requests,throughput,errors,p50_ms,p95_ms,p99_ms,max_ms");
+            for (Map.Entry<String, Histogram> entry : totals.entrySet()) {
+                final Histogram histogram = entry.getValue();
+                try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(fileName(entry.getKey()) + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+                }
+                summary.printf(Locale.ROOT, "\"%s\",%d,%.1f,%d,%.3f,%.3f,%.3f,%.3f%n", entry.getKey(), histogram.getTotalCount(),
+                        histogram.getTotalCount() / elapsedSec, errors(entry.getKey()), millis(histogram, 50), millis(histogram, 95),
+                        millis(histogram, 99), histogram.getMaxValue() / MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private long errors(String endpoint) {
+        final LongAdder count = errors.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static String fileName(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("_+$", "");
+    }
+
+}
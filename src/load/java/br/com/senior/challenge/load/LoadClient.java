@@ -0,0 +1,95 @@
+package br.com.senior.challenge.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP da aplicação sob carga. Cada requisição é registrada no {@link Latencies} atual, identificada pelo
+ * endpoint informado, a partir do início planejado. Sem {@link Latencies}, durante o cadastro inicial, nada é registrado
+ */
+public class LoadClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private volatile Latencies latencies;
+
+    public LoadClient(String baseUrl, ObjectMapper mapper) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+    }
+
+    public void recordTo(Latencies latencies) {
+        this.latencies = latencies;
+    }
+
+    public <T> T get(String endpoint, String path, long scheduled, Class<T> type) {
+        return send(endpoint, request(path).GET(), scheduled, type);
+    }
+
+    public <T> T post(String endpoint, String path, Object body, long scheduled, Class<T> type) {
+        return send(endpoint, request(path).POST(body(body)), scheduled, type);
+    }
+
+    public <T> T put(String endpoint, String path, Object body, long scheduled, Class<T> type) {
+        return send(endpoint, request(path).PUT(body(body)), scheduled, type);
+    }
+
+    /**
+     * Envia a requisição e converte a resposta. Retorna nulo quando a resposta não for 2xx
+     *
+     * @param scheduled Início planejado, em {@link System#nanoTime()}
+     */
+    private <T> T send(String endpoint, HttpRequest.Builder request, long scheduled, Class<T> type) {
+        HttpResponse<byte[]> response = null;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            // Registrada como erro
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final boolean success = response != null && response.statusCode() / 100 == 2;
+        final Latencies current = latencies;
+        if (current != null) {
+            current.record(endpoint, System.nanoTime() - scheduled, success);
+        }
+        if (!success || type == Void.class) {
+            return null;
+        }
+        try {
+            return mapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/hal+json")
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher body(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package br.com.senior.challenge.load;
+
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registros conhecidos pelos cenários: os itens cadastrados e os pedidos em aberto com suas linhas.
+ * Os pedidos atendidos deixam de ser sorteados para edição
+ */
+public class LoadData {
+
+    private final List<Item> items = Collections.synchronizedList(new ArrayList<>());
+    private final List<OpenOrder> openOrders = new ArrayList<>();
+    private final AtomicLong references = new AtomicLong();
+
+    public void addItem(Item item) {
+        items.add(item);
+    }
+
+    public int itemCount() {
+        return items.size();
+    }
+
+    public Item randomItem(Random random) {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    /**
+     * Próxima referência de pedido, única na execução
+     */
+    public String nextReference() {
+        return "pedido de carga " + references.incrementAndGet();
+    }
+
+    public synchronized void addOpenOrder(OpenOrder order) {
+        openOrders.add(order);
+    }
+
+    /**
+     * Sorteia um pedido em aberto, mantendo-o disponível
+     *
+     * @return {@link OpenOrder}, nulo quando não houver pedidos em aberto
+     */
+    public synchronized OpenOrder randomOpenOrder(Random random) {
+        return openOrders.isEmpty() ? null : openOrders.get(random.nextInt(openOrders.size()));
+    }
+
+    /**
+     * Sorteia e remove um pedido em aberto
+     *
+     * @return {@link OpenOrder}, nulo quando não houver pedidos em aberto
+     */
+    public synchronized OpenOrder takeOpenOrder(Random random) {
+        if (openOrders.isEmpty()) {
+            return null;
+        }
+        final int index = random.nextInt(openOrders.size());
+        final OpenOrder order = openOrders.get(index);
+        openOrders.set(index, openOrders.get(openOrders.size() - 1));
+        openOrders.remove(openOrders.size() - 1);
+        return order;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class OpenOrder {
+        private final SalesOrder order;
+        private final List<OpenLine> lines = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class OpenLine {
+        private final UUID id;
+        private final Item item;
+        private final BigDecimal price;
+    }
+
+}
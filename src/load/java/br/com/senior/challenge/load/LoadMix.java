@@ -0,0 +1,59 @@
+package br.com.senior.challenge.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Proporção de cada {@link Scenario} no tráfego, no formato {@code browse:70,create:10,edit:15,fulfill:5}.
+ * Os pesos não precisam somar 100
+ */
+public class LoadMix {
+
+    private final Map<Scenario, Integer> weights;
+    private final int total;
+
+    private LoadMix(Map<Scenario, Integer> weights) {
+        this.weights = weights;
+        this.total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("A combinação de cenários deve ter ao menos um peso positivo");
+        }
+    }
+
+    public static LoadMix parse(String value) {
+        final Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : value.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Cenário inválido: " + entry);
+            }
+            weights.put(Scenario.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return new LoadMix(weights);
+    }
+
+    /**
+     * Sorteia o próximo cenário conforme os pesos
+     */
+    public Scenario next(Random random) {
+        int value = random.nextInt(total);
+        for (Map.Entry<Scenario, Integer> entry : weights.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(entry -> entry.getKey().name().toLowerCase(Locale.ROOT) + ":" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+}
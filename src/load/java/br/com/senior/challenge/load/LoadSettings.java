@@ -0,0 +1,55 @@
+package br.com.senior.challenge.load;
+
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Configuração do teste de carga, lida das propriedades de sistema {@code load.*}
+ */
+@Getter
+public class LoadSettings {
+
+    private final int rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int concurrency;
+    private final LoadMix mix;
+    private final int items;
+    private final int orders;
+    private final int linesPerOrder;
+    private final Path output;
+
+    private LoadSettings() {
+        this.rate = Integer.getInteger("load.rate", 100);
+        this.warmup = duration("load.warmup", "10s");
+        this.duration = duration("load.duration", "60s");
+        this.concurrency = Integer.getInteger("load.concurrency", 64);
+        this.mix = LoadMix.parse(System.getProperty("load.mix", "browse:70,create:10,edit:15,fulfill:5"));
+        this.items = Integer.getInteger("load.items", 1000);
+        this.orders = Integer.getInteger("load.orders", 500);
+        this.linesPerOrder = Integer.getInteger("load.lines-per-order", 3);
+        this.output = Paths.get(System.getProperty("load.output", "target/load"),
+                System.getProperty("load.name", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+    }
+
+    public static LoadSettings fromSystemProperties() {
+        return new LoadSettings();
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s, warmup=" + warmup + ", duration=" + duration + ", concurrency=" + concurrency
+                + ", mix=" + mix + ", items=" + items + ", orders=" + orders + ", linesPerOrder=" + linesPerOrder;
+    }
+
+}
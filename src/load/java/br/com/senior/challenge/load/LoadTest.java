@@ -0,0 +1,197 @@
+package br.com.senior.challenge.load;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.ItemBuilder;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.enums.ItemType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.HistogramLogWriter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Teste de carga HTTP. Sobe a aplicação com banco H2 em memória, cadastra itens e pedidos pelos builders dos testes e
+ * gera tráfego na taxa configurada, sorteando os cenários conforme a combinação informada. Após o aquecimento, imprime
+ * a vazão e os percentis de latência de cada endpoint, as threads e a fila da aplicação ({@link ServerMeters})
+ * e grava os histogramas em {@code load.output/load.name}.
+ * <p>
+ * A taxa é mantida em malha aberta: cada requisição tem um início planejado e a latência é medida a partir dele, e
+ * não do envio, para que a fila formada quando a aplicação não acompanha a taxa apareça nos percentis.
+ * <p>
+ * Propriedades de sistema:
+ * <ul>
+ *     <li>{@code load.rate}: cenários por segundo (padrão 100)</li>
+ *     <li>{@code load.warmup}: duração do aquecimento, descartado (padrão 10s)</li>
+ *     <li>{@code load.duration}: duração da medição (padrão 60s)</li>
+ *     <li>{@code load.concurrency}: conexões simultâneas (padrão 64)</li>
+ *     <li>{@code load.mix}: pesos dos cenários (padrão {@code browse:70,create:10,edit:15,fulfill:5})</li>
+ *     <li>{@code load.items}, {@code load.orders}, {@code load.lines-per-order}: volume do cadastro inicial</li>
+ *     <li>{@code load.output}, {@code load.name}: diretório dos resultados (padrão {@code target/load/<data>})</li>
+ * </ul>
+ * Execução: {@code mvn -Pload verify -Dload.args="-Dload.rate=200 -Dload.mix=browse:90,create:10"}. Propriedades da
+ * aplicação também são informadas em {@code load.args}, por exemplo {@code -Dcontrollers.async.enabled=true}
+ */
+public class LoadTest {
+
+    private final LoadSettings settings;
+    private final LoadClient client;
+    private final ServerMeters serverMeters;
+    private final LoadData data = new LoadData();
+    private final ExecutorService workers;
+
+    public LoadTest(LoadSettings settings, LoadClient client, ServerMeters serverMeters) {
+        this.settings = settings;
+        this.client = client;
+        this.serverMeters = serverMeters;
+        this.workers = Executors.newFixedThreadPool(settings.getConcurrency());
+    }
+
+    public static void main(String[] args) throws Exception {
+        final LoadSettings settings = LoadSettings.fromSystemProperties();
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(SeniorChallengeApplication.class)
+                .run(Stream.concat(Stream.of(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN"), Arrays.stream(args)).toArray(String[]::new));
+        try {
+            final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            final LoadClient client = new LoadClient("http://localhost:" + port + context.getEnvironment()
+                    .getProperty("server.servlet.context-path", ""), context.getBean("defaultMapper", ObjectMapper.class));
+            new LoadTest(settings, client, new ServerMeters(context.getBean(MeterRegistry.class))).run();
+        } finally {
+            context.close();
+        }
+    }
+
+    public void run() throws Exception {
+        final PrintStream out = System.out;
+        out.println("Teste de carga: " + settings);
+        try {
+            seed();
+            out.println("Cadastro inicial: " + data.itemCount() + " itens e " + settings.getOrders() + " pedidos");
+
+            phase(settings.getWarmup(), new Latencies(null), null);
+
+            Files.createDirectories(settings.getOutput());
+            try (PrintStream log = new PrintStream(Files.newOutputStream(settings.getOutput().resolve("latency.hlog")))) {
+                final Latencies latencies = new Latencies(new HistogramLogWriter(log));
+                serverMeters.start();
+                final double elapsedSec = phase(settings.getDuration(), latencies, serverMeters);
+                latencies.print(out, elapsedSec);
+                serverMeters.print(out);
+                latencies.write(settings.getOutput(), elapsedSec);
+            }
+            out.println("Resultados gravados em " + settings.getOutput().toAbsolutePath());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Cadastra os itens e os pedidos em aberto sem registrar latências
+     */
+    private void seed() throws Exception {
+        client.recordTo(null);
+        final List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < settings.getItems(); i++) {
+            final int index = i;
+            tasks.add(workers.submit(() -> {
+                final Item item = client.post("POST /item", "/item", ItemBuilder.newItem()
+                        .withName("produto de carga " + index)
+                        .withDescription("item gerado pelo teste de carga")
+                        .withType(index % 2 == 0 ? ItemType.PRODUCT : ItemType.SERVICE)
+                        .build(), System.nanoTime(), Item.class);
+                if (item != null) {
+                    data.addItem(item);
+                }
+            }));
+        }
+        await(tasks);
+        if (data.itemCount() == 0) {
+            throw new IllegalStateException("Nenhum item cadastrado");
+        }
+        for (int i = 0; i < settings.getOrders(); i++) {
+            tasks.add(workers.submit(() -> Scenario.CREATE.run(client, data, settings.getLinesPerOrder(),
+                    System.nanoTime(), ThreadLocalRandom.current())));
+        }
+        await(tasks);
+    }
+
+    /**
+     * Dispara os cenários na taxa configurada durante o período e aguarda os pendentes
+     *
+     * @param meters Métricas da aplicação amostradas a cada segundo, nulo no aquecimento
+     * @return Tempo decorrido do início dos disparos até a conclusão dos pendentes, em segundos
+     */
+    private double phase(Duration duration, Latencies latencies, ServerMeters meters) throws InterruptedException {
+        client.recordTo(latencies);
+        final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor();
+        flusher.scheduleAtFixedRate(latencies::flushInterval, 1, 1, TimeUnit.SECONDS);
+        if (meters != null) {
+            flusher.scheduleAtFixedRate(meters::sample, 0, 1, TimeUnit.SECONDS);
+        }
+        final AtomicInteger pending = new AtomicInteger();
+        final long interval = TimeUnit.SECONDS.toNanos(1) / settings.getRate();
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        final long elapsed;
+        try {
+            for (long scheduled = start; scheduled < end; scheduled += interval) {
+                final long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                final long planned = scheduled;
+                pending.incrementAndGet();
+                workers.execute(() -> {
+                    try {
+                        final ThreadLocalRandom random = ThreadLocalRandom.current();
+                        settings.getMix().next(random).run(client, data, settings.getLinesPerOrder(), planned, random);
+                    } finally {
+                        pending.decrementAndGet();
+                    }
+                });
+            }
+            while (pending.get() > 0) {
+                Thread.sleep(10);
+            }
+            elapsed = System.nanoTime() - start;
+        } finally {
+            flusher.shutdownNow();
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        latencies.flushInterval();
+        client.recordTo(null);
+        return elapsed / 1e9;
+    }
+
+    private static void await(List<Future<?>> tasks) throws Exception {
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        tasks.clear();
+    }
+
+}
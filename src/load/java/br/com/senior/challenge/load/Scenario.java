@@ -0,0 +1,116 @@
+package br.com.senior.challenge.load;
+
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.builder.SalesOrderItemBuilder;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * Cenários de tráfego. A primeira requisição de cada cenário é medida a partir do início planejado pelo
+ * {@link LoadTest}, as demais a partir do próprio envio
+ */
+public enum Scenario {
+
+    /**
+     * Navegação no catálogo: uma página da listagem de itens e um item
+     */
+    BROWSE {
+        @Override
+        public void run(LoadClient client, LoadData data, int lines, long scheduled, Random random) {
+            final int pages = Math.max(1, data.itemCount() / PAGE_SIZE);
+            client.get("GET /item", "/item?page=" + random.nextInt(pages) + "&size=" + PAGE_SIZE, scheduled, Void.class);
+            client.get("GET /item/{id}", "/item/" + data.randomItem(random).getId(), System.nanoTime(), Void.class);
+        }
+    },
+
+    /**
+     * Criação de um pedido com suas linhas
+     */
+    CREATE {
+        @Override
+        public void run(LoadClient client, LoadData data, int lines, long scheduled, Random random) {
+            final SalesOrder order = client.post("POST /sales-order", "/sales-order", SalesOrderBuilder.newSalesOrder()
+                    .withReference(data.nextReference())
+                    .withComments("pedido gerado pelo teste de carga")
+                    .build(), scheduled, SalesOrder.class);
+            if (order == null) {
+                return;
+            }
+            final LoadData.OpenOrder openOrder = new LoadData.OpenOrder(order);
+            for (int i = 0; i < lines; i++) {
+                final Item item = data.randomItem(random);
+                final SalesOrderItem line = client.post("POST /sales-order/{id}/item", "/sales-order/" + order.getId() + "/item",
+                        SalesOrderItemBuilder.newSalesOrder()
+                                .withSalesOrder(order)
+                                .withItem(item)
+                                .withPrice(BigDecimal.valueOf(100 + random.nextInt(10_000), 2))
+                                .withQuantity(quantity(random))
+                                .build(), System.nanoTime(), SalesOrderItem.class);
+                if (line != null) {
+                    openOrder.getLines().add(new LoadData.OpenLine(line.getId(), item, line.getPrice()));
+                }
+            }
+            data.addOpenOrder(openOrder);
+        }
+    },
+
+    /**
+     * Alteração da quantidade de uma linha de um pedido em aberto
+     */
+    EDIT {
+        @Override
+        public void run(LoadClient client, LoadData data, int lines, long scheduled, Random random) {
+            final LoadData.OpenOrder openOrder = data.randomOpenOrder(random);
+            if (openOrder == null || openOrder.getLines().isEmpty()) {
+                return;
+            }
+            final LoadData.OpenLine line = openOrder.getLines().get(random.nextInt(openOrder.getLines().size()));
+            final SalesOrderItem body = SalesOrderItemBuilder.newSalesOrder()
+                    .withSalesOrder(openOrder.getOrder())
+                    .withItem(line.getItem())
+                    .withPrice(line.getPrice())
+                    .withQuantity(quantity(random))
+                    .build();
+            body.setId(line.getId());
+            client.put("PUT /sales-order/{id}/item/{id}", "/sales-order/" + openOrder.getOrder().getId() + "/item/" + line.getId(),
+                    body, scheduled, Void.class);
+        }
+    },
+
+    /**
+     * Atendimento de um pedido em aberto
+     */
+    FULFILL {
+        @Override
+        public void run(LoadClient client, LoadData data, int lines, long scheduled, Random random) {
+            final LoadData.OpenOrder openOrder = data.takeOpenOrder(random);
+            if (openOrder == null) {
+                return;
+            }
+            client.post("POST /sales-order/{id}/fulfill", "/sales-order/" + openOrder.getOrder().getId() + "/fulfill",
+                    null, scheduled, Void.class);
+        }
+    };
+
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Executa o cenário
+     *
+     * @param client    {@link LoadClient}
+     * @param data      Registros conhecidos
+     * @param lines     Linhas por pedido criado
+     * @param scheduled Início planejado, em {@link System#nanoTime()}
+     * @param random    Gerador da thread atual
+     */
+    public abstract void run(LoadClient client, LoadData data, int lines, long scheduled, Random random);
+
+    private static BigDecimal quantity(Random random) {
+        return BigDecimal.valueOf(1 + random.nextInt(10));
+    }
+
+}
@@ -0,0 +1,104 @@
+package br.com.senior.challenge.load;
+
+import br.com.senior.challenge.controllers.utils.ControllerExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas da aplicação durante a medição: threads do Tomcat ({@code http-nio-}) e da execução assíncrona dos
+ * Controllers ({@code controller-}), contadas pelo nome pois dividem a JVM com as threads do teste, e os
+ * {@code controllers.async.*} do {@link ControllerExecutor}. Os gauges são amostrados a cada segundo e impressos
+ * pelo máximo, a fila e as recusas pela diferença desde o início da medição
+ */
+public class ServerMeters {
+
+    private static final String TOMCAT_THREADS = "http-nio-";
+    private static final String CONTROLLER_THREADS = "controller-";
+
+    private final MeterRegistry registry;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final Map<String, Double> peaks = new LinkedHashMap<>();
+    private long queuedCount;
+    private double queuedMillis;
+    private double rejected;
+    private double expired;
+
+    public ServerMeters(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Descarta as amostras anteriores e guarda os contadores no início da medição
+     */
+    public synchronized void start() {
+        peaks.clear();
+        final Timer queued = registry.find(ControllerExecutor.QUEUED).timer();
+        queuedCount = queued == null ? 0 : queued.count();
+        queuedMillis = queued == null ? 0 : queued.totalTime(TimeUnit.MILLISECONDS);
+        rejected = count(ControllerExecutor.REJECTED);
+        expired = count(ControllerExecutor.EXPIRED);
+    }
+
+    /**
+     * Amostra as threads e os gauges, mantendo o máximo de cada um
+     */
+    public synchronized void sample() {
+        int tomcat = 0;
+        int controller = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds(), 0)) {
+            if (info == null) {
+                continue;
+            }
+            if (info.getThreadName().startsWith(TOMCAT_THREADS)) {
+                tomcat++;
+            } else if (info.getThreadName().startsWith(CONTROLLER_THREADS)) {
+                controller++;
+            }
+        }
+        peak("threads tomcat", tomcat);
+        peak("threads controller", controller);
+        peak(ControllerExecutor.WAITING, gauge(ControllerExecutor.WAITING));
+        peak(ControllerExecutor.ACTIVE, gauge(ControllerExecutor.ACTIVE));
+    }
+
+    /**
+     * Imprime os máximos amostrados dos gauges e das threads e os contadores do período
+     *
+     * @param out Saída
+     */
+    public synchronized void print(PrintStream out) {
+        out.printf("%-40s %10s %10s%n", "meter", "max/count", "mean ms");
+        peaks.forEach((name, value) -> out.printf("%-40s %10.0f%n", name, value));
+        final Timer queued = registry.find(ControllerExecutor.QUEUED).timer();
+        final long count = queued == null ? 0 : queued.count() - queuedCount;
+        final double millis = queued == null ? 0 : queued.totalTime(TimeUnit.MILLISECONDS) - queuedMillis;
+        out.printf("%-40s %10d %10.2f%n", ControllerExecutor.QUEUED, count, count == 0 ? 0 : millis / count);
+        out.printf("%-40s %10.0f%n", ControllerExecutor.REJECTED, count(ControllerExecutor.REJECTED) - rejected);
+        out.printf("%-40s %10.0f%n", ControllerExecutor.EXPIRED, count(ControllerExecutor.EXPIRED) - expired);
+    }
+
+    private void peak(String name, double value) {
+        peaks.merge(name, value, Math::max);
+    }
+
+    private double gauge(String name) {
+        final Gauge gauge = registry.find(name).gauge();
+        return gauge == null ? 0 : gauge.value();
+    }
+
+    private double count(String name) {
+        final Counter counter = registry.find(name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+}
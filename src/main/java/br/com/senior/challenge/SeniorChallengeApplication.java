@@ -2,14 +2,8 @@ package br.com.senior.challenge;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Import;
-import springfox.bean.validators.configuration.BeanValidatorPluginsConfiguration;
-import springfox.documentation.spring.data.rest.configuration.SpringDataRestConfiguration;
-import springfox.documentation.swagger2.annotations.EnableSwagger2WebMvc;
 
 @SpringBootApplication
-@EnableSwagger2WebMvc
-@Import({SpringDataRestConfiguration.class, BeanValidatorPluginsConfiguration.class})
 public class SeniorChallengeApplication {
 
     public static void main(String[] args) {
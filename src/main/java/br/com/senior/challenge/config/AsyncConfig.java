@@ -0,0 +1,68 @@
+package br.com.senior.challenge.config;
+
+import br.com.senior.challenge.controllers.utils.CompletedDeferredResultHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contabiliza as requisições assíncronas dos Controllers que excederam {@code spring.mvc.async.request-timeout}.
+ * Com {@code controllers.async.enabled} desabilitado, os retornos já preenchidos pelo
+ * {@link br.com.senior.challenge.controllers.utils.ControllerExecutor} são escritos de forma síncrona
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    public static final String TIMEOUTS = "controllers.async.timeouts";
+
+    private final Counter timeouts;
+
+    public AsyncConfig(MeterRegistry registry) {
+        this.timeouts = Counter.builder(TIMEOUTS).register(registry);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerDeferredResultInterceptors(new DeferredResultProcessingInterceptor() {
+            @Override
+            public <T> boolean handleTimeout(NativeWebRequest request, DeferredResult<T> deferredResult) {
+                timeouts.increment();
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Registra o {@link CompletedDeferredResultHandler} antes dos tratadores de retorno dos
+     * {@link RequestMappingHandlerAdapter}, após os demais ajustes do contexto, como o processamento de links do Spring HATEOAS
+     */
+    @Bean
+    @Lazy(false)
+    @ConditionalOnProperty(name = "controllers.async.enabled", havingValue = "false", matchIfMissing = true)
+    public SmartInitializingSingleton completedDeferredResultRegistration(List<RequestMappingHandlerAdapter> adapters) {
+        return () -> adapters.forEach(adapter -> {
+            HandlerMethodReturnValueHandlerComposite defaults = new HandlerMethodReturnValueHandlerComposite()
+                    .addHandlers(adapter.getReturnValueHandlers());
+            List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>();
+            handlers.add(new CompletedDeferredResultHandler(defaults));
+            handlers.addAll(defaults.getHandlers());
+            adapter.setReturnValueHandlers(handlers);
+        });
+    }
+
+}
@@ -1,8 +1,12 @@
 package br.com.senior.challenge.config;
 
+import br.com.senior.challenge.resources.cache.CachedItemSerializerModifier;
+import br.com.senior.challenge.resources.cache.ItemRepresentationCache;
+import br.com.senior.challenge.resources.cache.ItemRepresentationSerializer;
 import br.com.senior.challenge.resources.converters.AbstractBaseEntityFromUriDeserializer;
 import br.com.senior.challenge.resources.converters.UriToEntityConversionService;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -29,6 +33,11 @@ public class DefaultMapper extends ObjectMapper {
         defaultMapper(applicationContext, mappingContext);
     }
 
+    public DefaultMapper(JsonFactory factory, ApplicationContext applicationContext, MappingContext<?, ?> mappingContext) {
+        super(factory);
+        defaultMapper(applicationContext, mappingContext);
+    }
+
     public DefaultMapper(ObjectMapper src) {
         super(src);
         DefaultMapper defaultMapper = (DefaultMapper) src;
@@ -40,6 +49,16 @@ public class DefaultMapper extends ObjectMapper {
         return new DefaultMapper(this);
     }
 
+    /**
+     * Cria um {@link DefaultMapper} com as mesmas configurações e módulos para outro formato, como Smile ou CBOR
+     *
+     * @param factory {@link JsonFactory} do formato
+     * @return {@link DefaultMapper}
+     */
+    public DefaultMapper withFactory(JsonFactory factory) {
+        return new DefaultMapper(factory, applicationContext, mappingContext);
+    }
+
     private void defaultMapper(ApplicationContext applicationContext, MappingContext<?, ?> mappingContext) {
         this.applicationContext = applicationContext;
         this.mappingContext = mappingContext;
@@ -52,6 +71,7 @@ public class DefaultMapper extends ObjectMapper {
         enable(DeserializationFeature.READ_ENUMS_USING_TO_STRING);
         setSerializationInclusion(JsonInclude.Include.NON_NULL);
         registerEntity();
+        registerItemRepresentation();
 
     }
 
@@ -71,4 +91,16 @@ public class DefaultMapper extends ObjectMapper {
         });
     }
 
+    private void registerItemRepresentation() {
+        SimpleModule module = new SimpleModule("ItemRepresentationModule") {
+            @Override
+            public void setupModule(SetupContext context) {
+                super.setupModule(context);
+                context.addBeanSerializerModifier(new CachedItemSerializerModifier(applicationContext.getBeanProvider(ItemRepresentationCache.class)));
+            }
+        };
+        module.addSerializer(new ItemRepresentationSerializer());
+        registerModule(module);
+    }
+
 }
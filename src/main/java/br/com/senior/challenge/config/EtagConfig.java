@@ -0,0 +1,28 @@
+package br.com.senior.challenge.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.DispatcherType;
+
+/**
+ * ETags fracas para as listagens, calculadas sobre o corpo da resposta. Uma listagem não alterada é respondida com 304
+ * sem o corpo, economizando a transferência. As respostas que já possuem ETag, como a dos registros com versão
+ * ({@link br.com.senior.challenge.controllers.utils.EntityTags}), são mantidas, e as transmissões sob demanda não são acumuladas
+ */
+@Configuration
+public class EtagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/item", "/sales-order", "/sales-order/*");
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+
+}
@@ -1,12 +1,19 @@
 package br.com.senior.challenge.config;
 
+import br.com.senior.challenge.resources.converters.ItemRepresentationHttpMessageConverter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
@@ -16,10 +23,13 @@ public class JacksonConfig implements WebMvcConfigurer {
 
     private MappingContext<?, ?> mappingContext;
     private ApplicationContext applicationContext;
+    private ObjectProvider<HalMediaTypeConfiguration> halConfiguration;
 
-    public JacksonConfig(ApplicationContext applicationContext, MappingContext<?, ?> mappingContext) {
+    public JacksonConfig(ApplicationContext applicationContext, MappingContext<?, ?> mappingContext,
+                         ObjectProvider<HalMediaTypeConfiguration> halConfiguration) {
         this.applicationContext = applicationContext;
         this.mappingContext = mappingContext;
+        this.halConfiguration = halConfiguration;
     }
 
     @Override
@@ -28,9 +38,31 @@ public class JacksonConfig implements WebMvcConfigurer {
         converters.add(new MappingJackson2HttpMessageConverter(defaultMapper()));
     }
 
+    /**
+     * Além do JSON, aceita e responde em Smile ({@code application/x-jackson-smile}) e CBOR ({@code application/cbor})
+     * para clientes internos que solicitarem pelo cabeçalho Accept ou Content-Type. Substitui os conversores padrão
+     * desses formatos para usar os mesmos módulos do {@link DefaultMapper} e a representação HAL dos links.
+     * A representação em cache dos itens é escrita em JSON pelo {@link ItemRepresentationHttpMessageConverter},
+     * antes dos conversores do Jackson
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        DefaultMapper defaultMapper = (DefaultMapper) defaultMapper();
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(hal(defaultMapper.withFactory(new SmileFactory()))));
+        converters.add(new MappingJackson2CborHttpMessageConverter(hal(defaultMapper.withFactory(new CBORFactory()))));
+        converters.add(0, new ItemRepresentationHttpMessageConverter());
+    }
+
     @Bean
     public ObjectMapper defaultMapper() {
         return new DefaultMapper(applicationContext, mappingContext);
     }
 
+    private ObjectMapper hal(ObjectMapper mapper) {
+        HalMediaTypeConfiguration configuration = halConfiguration.getIfAvailable();
+        return configuration == null ? mapper : configuration.configureObjectMapper(mapper);
+    }
+
 }
@@ -0,0 +1,24 @@
+package br.com.senior.challenge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Scheduler das consultas da API reativa de leitura. As consultas JDBC são bloqueantes, portanto executam
+ * em no máximo {@code reactive.jdbc.pool-size} threads (por padrão o tamanho do pool de conexões)
+ */
+@Configuration
+public class ReactiveConfig {
+
+    public static final String JDBC_SCHEDULER = "jdbcScheduler";
+
+    @Bean(name = JDBC_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${reactive.jdbc.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+                                   @Value("${reactive.jdbc.queue-capacity:1000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(poolSize, queueCapacity, "reactive-jdbc");
+    }
+
+}
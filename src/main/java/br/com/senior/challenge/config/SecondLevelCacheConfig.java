@@ -0,0 +1,67 @@
+package br.com.senior.challenge.config;
+
+import br.com.senior.challenge.entities.EntityCacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nível do Hibernate em memória, com o Caffeine como implementação do JCache. Cada região é limitada
+ * por quantidade e tempo desde a gravação, configurados em {@code cache.region.<região>.maximum-size} e
+ * {@code cache.region.<região>.expire-after-write}. A região de atualização das tabelas, que invalida o cache das
+ * consultas, não é limitada. Cada contexto da aplicação possui o seu {@link CacheManager}, encerrado pelo Hibernate
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String[] REGIONS = {
+            EntityCacheRegions.ITEM,
+            EntityCacheRegions.ITEM_LIST,
+            EntityCacheRegions.SALES_ORDER,
+            EntityCacheRegions.SALES_ORDER_ITENS,
+            EntityCacheRegions.SALES_ORDER_ITEM,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME
+    };
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(Environment environment) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager(environment));
+    }
+
+    private CacheManager cacheManager(Environment environment) {
+        final CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            final String prefix = "cache.region." + region;
+            final CaffeineConfiguration<Object, Object> configuration = configuration();
+            configuration.setMaximumSize(OptionalLong.of(environment.getProperty(prefix + ".maximum-size", Long.class, 10_000L)));
+            configuration.setExpireAfterWrite(OptionalLong.of(environment.getProperty(prefix + ".expire-after-write", Duration.class, Duration.ofMinutes(10)).toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuration());
+        return cacheManager;
+    }
+
+    /**
+     * Configuração sem cópia dos valores, pois as entradas gravadas pelo Hibernate não são alteradas
+     */
+    private static CaffeineConfiguration<Object, Object> configuration() {
+        final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+}
@@ -1,20 +1,32 @@
 package br.com.senior.challenge.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.web.util.UriComponentsBuilder;
+import springfox.bean.validators.configuration.BeanValidatorPluginsConfiguration;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.service.ApiInfo;
 import springfox.documentation.spi.DocumentationType;
+import springfox.documentation.spring.data.rest.configuration.SpringDataRestConfiguration;
 import springfox.documentation.spring.web.paths.DefaultPathProvider;
 import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger2.annotations.EnableSwagger2WebMvc;
 
 import static springfox.documentation.spring.web.paths.Paths.removeAdjacentForwardSlashes;
 
+/**
+ * Documentação Swagger dos controllers. Desabilitada com {@code swagger.enabled=false}, evitando a varredura dos
+ * pacotes do springfox e a geração da documentação na inicialização
+ */
 @Configuration
+@EnableSwagger2WebMvc
+@Import({SpringDataRestConfiguration.class, BeanValidatorPluginsConfiguration.class})
+@ConditionalOnProperty(name = "swagger.enabled", matchIfMissing = true)
 public class SwaggerConfig {
 
     @Value("${server.servlet.context-path}")
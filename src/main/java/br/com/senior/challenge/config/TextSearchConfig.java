@@ -0,0 +1,38 @@
+package br.com.senior.challenge.config;
+
+import br.com.senior.challenge.resources.search.InvertedIndexTextSearch;
+import br.com.senior.challenge.resources.search.TextSearch;
+import br.com.senior.challenge.resources.search.TrigramTextSearch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+@Configuration
+public class TextSearchConfig {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:}")
+    private String schema;
+
+    /**
+     * Sempre criada na inicialização, mesmo com {@code spring.main.lazy-initialization}, pois constrói os índices
+     * de busca (em memória ou no banco), que de outra forma seriam construídos na primeira requisição
+     */
+    @Bean
+    @Lazy(false)
+    public TextSearch textSearch(DataSource dataSource, EntityManagerFactory entityManagerFactory) throws MetaDataAccessException {
+        final String database = JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName");
+        return POSTGRESQL.equals(database)
+                ? new TrigramTextSearch(new JdbcTemplate(dataSource), entityManagerFactory, schema)
+                : new InvertedIndexTextSearch(entityManagerFactory);
+    }
+
+}
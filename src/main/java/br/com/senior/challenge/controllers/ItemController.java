@@ -1,8 +1,15 @@
 package br.com.senior.challenge.controllers;
 
+import br.com.senior.challenge.controllers.handlers.ValidationExceptionHandler;
+import br.com.senior.challenge.controllers.utils.ControllerExecutor;
+import br.com.senior.challenge.controllers.utils.EntityTags;
 import br.com.senior.challenge.entities.Item;
-import br.com.senior.challenge.resources.repositories.ItemRepository;
+import br.com.senior.challenge.resources.cache.ItemRepresentationCache;
+import br.com.senior.challenge.resources.export.ExportFormat;
+import br.com.senior.challenge.resources.imports.ItemImportSummary;
+import br.com.senior.challenge.resources.pagination.KeysetPagination;
 import br.com.senior.challenge.resources.rules.ItemRules;
+import br.com.senior.challenge.resources.search.TextSearchBindings;
 import com.querydsl.core.types.Predicate;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -10,10 +17,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import reactor.core.publisher.Flux;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.UUID;
 
 @Api(tags = "Produtos e Serviços")
@@ -22,51 +35,89 @@ import java.util.UUID;
 public class ItemController {
 
     private final ItemRules rules;
+    private final ControllerExecutor executor;
+    private final ValidationExceptionHandler validationExceptionHandler;
 
-    public ItemController(ItemRules rules) {
+    public ItemController(ItemRules rules, ControllerExecutor executor, ValidationExceptionHandler validationExceptionHandler) {
         this.rules = rules;
+        this.executor = executor;
+        this.validationExceptionHandler = validationExceptionHandler;
     }
 
     @ApiOperation("Lista todos os produtos e serviços cadastrados")
     @GetMapping("/item")
-    public ResponseEntity<PagedModel<EntityModel<Item>>> findAll(@QuerydslPredicate(root = Item.class, bindings = ItemRepository.class) Predicate predicate, Pageable pageable) {
-        return ResponseEntity.ok(rules.findAll(predicate, pageable));
+    public DeferredResult<ResponseEntity<PagedModel<EntityModel<Item>>>> findAll(@QuerydslPredicate(root = Item.class, bindings = TextSearchBindings.class) Predicate predicate, Pageable pageable,
+                                                                 @RequestParam(name = KeysetPagination.PARAM, required = false) String after) {
+        return executor.submit(() -> {
+            if (after != null) {
+                return ResponseEntity.ok(rules.findAllAfter(predicate, after, pageable));
+            }
+            return ResponseEntity.ok(rules.findAll(predicate, pageable));
+        });
+    }
+
+    @ApiOperation("Transmite os produtos e serviços cadastrados sob demanda do cliente")
+    @GetMapping(value = "/item", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<EntityModel<Item>> stream(@QuerydslPredicate(root = Item.class, bindings = TextSearchBindings.class) Predicate predicate, Pageable pageable,
+                                          @RequestParam(name = KeysetPagination.PARAM, required = false) String after) {
+        return rules.stream(predicate, after, pageable);
     }
 
     @ApiOperation("Retorna um produto ou serviço")
     @GetMapping("/item/{id}")
-    public ResponseEntity<EntityModel<Item>> findById(@PathVariable UUID id) {
-        return ResponseEntity.ok(rules.findById(id));
+    public DeferredResult<ResponseEntity<ItemRepresentationCache.Representation>> findById(@PathVariable UUID id,
+                                                                                          @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return executor.submit(() -> {
+            ResponseEntity<ItemRepresentationCache.Representation> notModified = EntityTags.notModified(ifNoneMatch, () -> rules.findVersion(id));
+            if (notModified != null) {
+                return notModified;
+            }
+            ItemRepresentationCache.Representation representation = rules.findRepresentation(id);
+            return ResponseEntity.ok()
+                    .eTag(EntityTags.of(representation.getVersion()))
+                    .body(representation);
+        });
     }
 
     @ApiOperation("Cadastra um produto ou serviço")
     @PostMapping("/item")
-    public ResponseEntity<EntityModel<Item>> create(@Valid @RequestBody Item item) {
-        return ResponseEntity.ok(rules.createAndSave(item));
+    public DeferredResult<ResponseEntity<EntityModel<Item>>> create(@Valid @RequestBody Item item) {
+        return executor.submit(() -> EntityTags.ok(rules.createAndSave(item)));
+    }
+
+    @ApiOperation("Importa em lote os produtos e serviços de um CSV ou NDJSON, retornando os erros de cada linha recusada")
+    @PostMapping(value = "/item/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ItemImportSummary> importItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                         HttpServletRequest request) throws IOException {
+        ItemImportSummary summary = rules.importItems(ExportFormat.ofContentType(contentType), request.getInputStream());
+        summary.setMessages(validationExceptionHandler.toApiError(summary.getFailures()).getMessages());
+        return ResponseEntity.ok(summary);
     }
 
     @ApiOperation("Atualiza um produto ou serviço")
     @PutMapping("/item/{id}")
-    public ResponseEntity<EntityModel<Item>> update(@PathVariable UUID id, @Valid @RequestBody Item itemToUpdate) {
-        return ResponseEntity.ok(rules.updateAndSave(id, itemToUpdate));
+    public DeferredResult<ResponseEntity<EntityModel<Item>>> update(@PathVariable UUID id, @Valid @RequestBody Item itemToUpdate,
+                                                                    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return executor.submit(() -> EntityTags.ok(rules.updateAndSave(id, itemToUpdate, EntityTags.expectedVersion(ifMatch, id))));
     }
 
     @ApiOperation("Exclui um produto ou serviço")
     @DeleteMapping("/item/{id}")
-    public ResponseEntity<EntityModel<Item>> delete(@PathVariable UUID id) {
-        return ResponseEntity.ok(rules.delete(id));
+    public DeferredResult<ResponseEntity<EntityModel<Item>>> delete(@PathVariable UUID id,
+                                                                    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return executor.submit(() -> ResponseEntity.ok(rules.delete(id, EntityTags.expectedVersion(ifMatch, id))));
     }
 
     @ApiOperation("Desativa um produto ou serviço")
     @PostMapping("/item/{id}/deactivate")
-    public ResponseEntity<EntityModel<Item>> deactivate(@PathVariable UUID id) {
-        return ResponseEntity.ok(rules.deactivateAndSave(id));
+    public DeferredResult<ResponseEntity<EntityModel<Item>>> deactivate(@PathVariable UUID id) {
+        return executor.submit(() -> ResponseEntity.ok(rules.deactivateAndSave(id)));
     }
 
     @ApiOperation("Ativa um produto ou serviço")
     @PostMapping("/item/{id}/activate")
-    public ResponseEntity<EntityModel<Item>> activate(@PathVariable UUID id) {
-        return ResponseEntity.ok(rules.activateAndSave(id));
+    public DeferredResult<ResponseEntity<EntityModel<Item>>> activate(@PathVariable UUID id) {
+        return executor.submit(() -> ResponseEntity.ok(rules.activateAndSave(id)));
     }
 
 }
@@ -1,8 +1,15 @@
 package br.com.senior.challenge.controllers;
 
+import br.com.senior.challenge.controllers.utils.ControllerExecutor;
+import br.com.senior.challenge.controllers.utils.EntityTags;
 import br.com.senior.challenge.entities.SalesOrder;
-import br.com.senior.challenge.resources.repositories.SalesOrderRepository;
+import br.com.senior.challenge.entities.SalesOrderSummary;
+import br.com.senior.challenge.resources.assembler.SalesOrderWithItensAssembler;
+import br.com.senior.challenge.resources.export.ExportFormat;
+import br.com.senior.challenge.resources.pagination.KeysetPagination;
 import br.com.senior.challenge.resources.rules.SalesOrderRules;
+import br.com.senior.challenge.resources.search.TextSearchBindings;
+import br.com.senior.challenge.resources.transitions.TransitionSummary;
 import com.querydsl.core.types.Predicate;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -10,10 +17,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import reactor.core.publisher.Flux;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @Api(tags = "Pedidos")
@@ -22,51 +38,101 @@ import java.util.UUID;
 public class SalesOrderController {
 
     private final SalesOrderRules rules;
+    private final ControllerExecutor executor;
 
-    public SalesOrderController(SalesOrderRules rules) {
+    public SalesOrderController(SalesOrderRules rules, ControllerExecutor executor) {
         this.rules = rules;
+        this.executor = executor;
     }
 
     @ApiOperation("Lista todos os pedidos cadastrados")
     @GetMapping("/sales-order")
-    public ResponseEntity<PagedModel<EntityModel<SalesOrder>>> findAll(@QuerydslPredicate(root = SalesOrder.class, bindings = SalesOrderRepository.class) Predicate predicate, Pageable pageable) {
-        return ResponseEntity.ok(rules.findAll(predicate, pageable));
+    public DeferredResult<ResponseEntity<PagedModel<EntityModel<SalesOrderSummary>>>> findAll(@QuerydslPredicate(root = SalesOrderSummary.class, bindings = TextSearchBindings.class) Predicate predicate, Pageable pageable,
+                                                                              @RequestParam(name = KeysetPagination.PARAM, required = false) String after) {
+        return executor.submit(() -> {
+            if (after != null) {
+                return ResponseEntity.ok(rules.findAllAfter(predicate, after, pageable));
+            }
+            return ResponseEntity.ok(rules.findAll(predicate, pageable));
+        });
+    }
+
+    @ApiOperation("Transmite os pedidos cadastrados sob demanda do cliente")
+    @GetMapping(value = "/sales-order", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<EntityModel<SalesOrderSummary>> stream(@QuerydslPredicate(root = SalesOrderSummary.class, bindings = TextSearchBindings.class) Predicate predicate, Pageable pageable,
+                                                       @RequestParam(name = KeysetPagination.PARAM, required = false) String after) {
+        return rules.stream(predicate, after, pageable);
+    }
+
+    @ApiOperation("Exporta os pedidos com seus itens em NDJSON (padrão) ou CSV, conforme o cabeçalho Accept")
+    @GetMapping(value = "/sales-order/export", produces = {"application/x-ndjson", "text/csv"})
+    public void export(@QuerydslPredicate(root = SalesOrder.class, bindings = TextSearchBindings.class) Predicate predicate,
+                       @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        ExportFormat format = ExportFormat.of(accept);
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sales-orders." + format.getExtension() + "\"");
+        rules.export(predicate, format, response.getOutputStream());
     }
 
     @ApiOperation("Retorna um pedido")
     @GetMapping("/sales-order/{id}")
-    public ResponseEntity<EntityModel<SalesOrder>> findById(@PathVariable UUID id) {
-        return ResponseEntity.ok(rules.findById(id));
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrder>>> findById(@PathVariable UUID id,
+                                                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return executor.submit(() -> EntityTags.ok(ifNoneMatch, () -> rules.findVersion(id), () -> rules.findById(id)));
+    }
+
+    @ApiOperation("Retorna um pedido com seus produtos e serviços incorporados")
+    @GetMapping(value = "/sales-order/{id}", params = "embed=" + SalesOrderWithItensAssembler.EMBED)
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrder>>> findByIdWithItens(@PathVariable UUID id) {
+        return executor.submit(() -> ResponseEntity.ok(rules.findByIdWithItens(id)));
     }
 
     @ApiOperation("Cadastra um pedido")
     @PostMapping("/sales-order")
-    public ResponseEntity<EntityModel<SalesOrder>> create(@Valid @RequestBody SalesOrder order) {
-        return ResponseEntity.ok(rules.createAndSave(order));
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrder>>> create(@Valid @RequestBody SalesOrder order) {
+        return executor.submit(() -> EntityTags.ok(rules.createAndSave(order)));
     }
 
     @ApiOperation("Atualiza um pedido")
     @PutMapping("/sales-order/{id}")
-    public ResponseEntity<EntityModel<SalesOrder>> update(@PathVariable UUID id, @Valid @RequestBody SalesOrder orderToUpdate) {
-        return ResponseEntity.ok(rules.updateAndSave(id, orderToUpdate));
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrder>>> update(@PathVariable UUID id, @Valid @RequestBody SalesOrder orderToUpdate,
+                                                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return executor.submit(() -> EntityTags.ok(rules.updateAndSave(id, orderToUpdate, EntityTags.expectedVersion(ifMatch, id))));
     }
 
     @ApiOperation("Exclui um pedido")
     @DeleteMapping("/sales-order/{id}")
-    public ResponseEntity<EntityModel<SalesOrder>> delete(@PathVariable UUID id) {
-        return ResponseEntity.ok(rules.delete(id));
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrder>>> delete(@PathVariable UUID id,
+                                                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return executor.submit(() -> ResponseEntity.ok(rules.delete(id, EntityTags.expectedVersion(ifMatch, id))));
+    }
+
+    @ApiOperation("Altera o status dos pedidos informados, ou dos pedidos filtrados, para completo")
+    @PostMapping("/sales-order/fulfill")
+    public DeferredResult<ResponseEntity<TransitionSummary>> fulfill(@QuerydslPredicate(root = SalesOrder.class, bindings = TextSearchBindings.class) Predicate predicate,
+                                                                     @RequestBody(required = false) List<UUID> ids) {
+        return executor.submit(() -> ResponseEntity.ok(rules.fulfill(ids, predicate)));
+    }
+
+    @ApiOperation("Altera o status dos pedidos informados, ou dos pedidos filtrados, para cancelado")
+    @PostMapping("/sales-order/cancel")
+    public DeferredResult<ResponseEntity<TransitionSummary>> cancel(@QuerydslPredicate(root = SalesOrder.class, bindings = TextSearchBindings.class) Predicate predicate,
+                                                                    @RequestBody(required = false) List<UUID> ids) {
+        return executor.submit(() -> ResponseEntity.ok(rules.cancel(ids, predicate)));
     }
 
     @ApiOperation("Altera o status de um pedido para completo")
     @PostMapping("/sales-order/{id}/fulfill")
-    public ResponseEntity<EntityModel<SalesOrder>> fulfill(@PathVariable UUID id) {
-        return ResponseEntity.ok(rules.fulfill(id));
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrder>>> fulfill(@PathVariable UUID id) {
+        return executor.submit(() -> ResponseEntity.ok(rules.fulfill(id)));
     }
 
     @ApiOperation("Altera o status de um pedido para cancelado")
     @PostMapping("/sales-order/{id}/cancel")
-    public ResponseEntity<EntityModel<SalesOrder>> cancel(@PathVariable UUID id) {
-        return ResponseEntity.ok(rules.cancel(id));
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrder>>> cancel(@PathVariable UUID id) {
+        return executor.submit(() -> ResponseEntity.ok(rules.cancel(id)));
     }
 
 }
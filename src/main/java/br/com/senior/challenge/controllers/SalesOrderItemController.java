@@ -1,19 +1,26 @@
 package br.com.senior.challenge.controllers;
 
+import br.com.senior.challenge.controllers.utils.ControllerExecutor;
 import br.com.senior.challenge.entities.SalesOrderItem;
-import br.com.senior.challenge.resources.repositories.SalesOrderItemRepository;
+import br.com.senior.challenge.resources.pagination.KeysetPagination;
 import br.com.senior.challenge.resources.rules.SalesOrderItemRules;
+import br.com.senior.challenge.resources.search.TextSearchBindings;
 import com.querydsl.core.types.Predicate;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import reactor.core.publisher.Flux;
 
 import javax.validation.Valid;
+import java.util.List;
 import java.util.UUID;
 
 @Api(tags = "Itens do Pedido")
@@ -22,39 +29,60 @@ import java.util.UUID;
 public class SalesOrderItemController {
 
     private final SalesOrderItemRules rules;
+    private final ControllerExecutor executor;
 
-    public SalesOrderItemController(SalesOrderItemRules rules) {
+    public SalesOrderItemController(SalesOrderItemRules rules, ControllerExecutor executor) {
         this.rules = rules;
+        this.executor = executor;
     }
 
     @ApiOperation("Lista todos os produtos e serviços cadastrados para um pedido")
     @GetMapping("/sales-order/{id}/item")
-    public ResponseEntity<PagedModel<EntityModel<SalesOrderItem>>> findByOrderId(@PathVariable UUID id, @QuerydslPredicate(root = SalesOrderItem.class, bindings = SalesOrderItemRepository.class) Predicate predicate, Pageable pageable) {
-        return ResponseEntity.ok(rules.findByOrderId(id, predicate, pageable));
+    public DeferredResult<ResponseEntity<PagedModel<EntityModel<SalesOrderItem>>>> findByOrderId(@PathVariable UUID id, @QuerydslPredicate(root = SalesOrderItem.class, bindings = TextSearchBindings.class) Predicate predicate, Pageable pageable,
+                                                                                 @RequestParam(name = KeysetPagination.PARAM, required = false) String after) {
+        return executor.submit(() -> {
+            if (after != null) {
+                return ResponseEntity.ok(rules.findByOrderIdAfter(id, predicate, after, pageable));
+            }
+            return ResponseEntity.ok(rules.findByOrderId(id, predicate, pageable));
+        });
+    }
+
+    @ApiOperation("Transmite os produtos e serviços cadastrados para um pedido sob demanda do cliente")
+    @GetMapping(value = "/sales-order/{id}/item", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<EntityModel<SalesOrderItem>> streamByOrderId(@PathVariable UUID id, @QuerydslPredicate(root = SalesOrderItem.class, bindings = TextSearchBindings.class) Predicate predicate, Pageable pageable,
+                                                             @RequestParam(name = KeysetPagination.PARAM, required = false) String after) {
+        return rules.streamByOrderId(id, predicate, after, pageable);
     }
 
     @ApiOperation("Retorna um produto ou serviço cadastrado para um pedido")
     @GetMapping("/sales-order/{order_id}/item/{id}")
-    public ResponseEntity<EntityModel<SalesOrderItem>> findByOrderIdAndId(@PathVariable("order_id") UUID orderId, @PathVariable UUID id) {
-        return ResponseEntity.ok(rules.findByOrderIdAndId(orderId, id));
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrderItem>>> findByOrderIdAndId(@PathVariable("order_id") UUID orderId, @PathVariable UUID id) {
+        return executor.submit(() -> ResponseEntity.ok(rules.findByOrderIdAndId(orderId, id)));
     }
 
     @ApiOperation("Cadastra um produto ou serviço para um pedido")
     @PostMapping("/sales-order/{id}/item")
-    public ResponseEntity<EntityModel<SalesOrderItem>> create(@PathVariable UUID id, @Valid @RequestBody SalesOrderItem orderItem) {
-        return ResponseEntity.ok(rules.createAndSave(id, orderItem));
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrderItem>>> create(@PathVariable UUID id, @Valid @RequestBody SalesOrderItem orderItem) {
+        return executor.submit(() -> ResponseEntity.ok(rules.createAndSave(id, orderItem)));
+    }
+
+    @ApiOperation("Cadastra uma lista de produtos e serviços para um pedido")
+    @PostMapping("/sales-order/{id}/item/batch")
+    public DeferredResult<ResponseEntity<CollectionModel<EntityModel<SalesOrderItem>>>> createAll(@PathVariable UUID id, @RequestBody List<SalesOrderItem> orderItems) {
+        return executor.submit(() -> ResponseEntity.ok(rules.createAndSaveAll(id, orderItems)));
     }
 
     @ApiOperation("Atualiza um produto ou serviço para um pedido")
     @PutMapping("/sales-order/{order_id}/item/{id}")
-    public ResponseEntity<EntityModel<SalesOrderItem>> update(@PathVariable("order_id") UUID orderId, @PathVariable UUID id, @Valid @RequestBody SalesOrderItem orderItemToUpdate) {
-        return ResponseEntity.ok(rules.updateAndSave(orderId, id, orderItemToUpdate));
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrderItem>>> update(@PathVariable("order_id") UUID orderId, @PathVariable UUID id, @Valid @RequestBody SalesOrderItem orderItemToUpdate) {
+        return executor.submit(() -> ResponseEntity.ok(rules.updateAndSave(orderId, id, orderItemToUpdate)));
     }
 
     @ApiOperation("Exclui um produto ou serviço de um pedido")
     @DeleteMapping("/sales-order/{order_id}/item/{id}")
-    public ResponseEntity<EntityModel<SalesOrderItem>> delete(@PathVariable("order_id") UUID orderId, @PathVariable UUID id) {
-        return ResponseEntity.ok(rules.delete(orderId, id));
+    public DeferredResult<ResponseEntity<EntityModel<SalesOrderItem>>> delete(@PathVariable("order_id") UUID orderId, @PathVariable UUID id) {
+        return executor.submit(() -> ResponseEntity.ok(rules.delete(orderId, id)));
     }
 
 }
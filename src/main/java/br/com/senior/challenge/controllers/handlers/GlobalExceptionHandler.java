@@ -1,9 +1,12 @@
 package br.com.senior.challenge.controllers.handlers;
 
 import br.com.senior.challenge.exceptions.BusinessException;
+import br.com.senior.challenge.exceptions.ConflictException;
 import br.com.senior.challenge.exceptions.NotFoundException;
+import br.com.senior.challenge.exceptions.PreconditionFailedException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +19,7 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static br.com.senior.challenge.config.DefaultMessageSourceConfig.DEFAULT_LOCALE;
 
@@ -29,6 +33,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
      * Mensagem padrão para mensagens de entrada malformada
      */
     private static final String JSON_MALFORMED = "json.malformed";
+    /**
+     * Mensagem padrão para alterações em conflito com uma alteração concorrente
+     */
+    private static final String RECORD_CONFLICT = "record.conflict";
+    /**
+     * Mensagem padrão para requisições recusadas por excesso de requisições aguardando execução
+     */
+    private static final String REQUEST_REJECTED = "request.rejected";
     private final MessageSource messageSource;
     private final ValidationExceptionHandler validationExceptionHandler;
 
@@ -43,10 +55,24 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
         if (exception instanceof NotFoundException) {
             status = HttpStatus.NOT_FOUND;
+        } else if (exception instanceof PreconditionFailedException) {
+            status = HttpStatus.PRECONDITION_FAILED;
+        } else if (exception instanceof ConflictException) {
+            status = HttpStatus.CONFLICT;
         }
         return new ResponseEntity(error, status);
     }
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public final ResponseEntity<ApiError> handleConcurrencyFailureException(ConcurrencyFailureException exception) {
+        return new ResponseEntity(new ApiError(messageSource.getMessage(RECORD_CONFLICT, null, DEFAULT_LOCALE)), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public final ResponseEntity<ApiError> handleRejectedExecutionException(RejectedExecutionException exception) {
+        return new ResponseEntity(new ApiError(messageSource.getMessage(REQUEST_REJECTED, null, DEFAULT_LOCALE)), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @Override
     public final ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException exception,
                                                                      HttpHeaders headers, HttpStatus status, WebRequest request) {
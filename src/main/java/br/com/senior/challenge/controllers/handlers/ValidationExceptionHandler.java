@@ -1,6 +1,7 @@
 package br.com.senior.challenge.controllers.handlers;
 
 import br.com.senior.challenge.entities.EntityConstraints;
+import br.com.senior.challenge.exceptions.BatchValidationException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import org.springframework.context.MessageSource;
@@ -55,6 +56,26 @@ public class ValidationExceptionHandler extends ResponseEntityExceptionHandler {
         }
     }
 
+    @ExceptionHandler(BatchValidationException.class)
+    public ResponseEntity<ApiError> handleBatchValidationException(BatchValidationException exception) {
+        return new ResponseEntity(toApiError(exception), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Converte os erros de um lote em mensagens, com o campo prefixado pela posição do registro
+     *
+     * @param exception Erros do lote {@link BatchValidationException}
+     * @return {@link ApiError} com as mensagens tratadas
+     */
+    public ApiError toApiError(BatchValidationException exception) {
+        final ApiError errors = new ApiError();
+        exception.getViolations().forEach((index, violations) ->
+                violations.forEach(constraintViolation -> addConstraintViolation(errors, "[" + index + "].", constraintViolation)));
+        exception.getErrors().forEach((index, error) ->
+                errors.addError("[" + index + "]", messageSource.getMessage(error.getMessage(), error.getParams(), DEFAULT_LOCALE)));
+        return errors;
+    }
+
     /**
      * Trata mensagens com formato inválido
      *
@@ -78,16 +99,25 @@ public class ValidationExceptionHandler extends ResponseEntityExceptionHandler {
      */
     private ResponseEntity<ApiError> handleConstraintViolationException(ConstraintViolationException exception) {
         final ApiError errors = new ApiError();
-        exception.getConstraintViolations().forEach(constraintViolation -> {
-            final String field = constraintViolation.getPropertyPath().toString();
-            final String message = constraintViolation.getMessage();
-            String customMessage = replaceAttributes(getMessage(message, field), constraintViolation);
-            String helper = getFieldHelper(constraintViolation.getLeafBean().getClass().getName(), field);
-            errors.addError(field, customMessage, helper);
-        });
+        exception.getConstraintViolations().forEach(constraintViolation -> addConstraintViolation(errors, "", constraintViolation));
         return new ResponseEntity(errors, HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
+    /**
+     * Adiciona uma violação de integridade como erro de um campo
+     *
+     * @param errors              {@link ApiError} que receberá o erro
+     * @param prefix              Prefixo do nome do campo
+     * @param constraintViolation Violação de integridade {@link ConstraintViolation}
+     */
+    private void addConstraintViolation(ApiError errors, String prefix, ConstraintViolation<?> constraintViolation) {
+        final String field = constraintViolation.getPropertyPath().toString();
+        final String message = constraintViolation.getMessage();
+        String customMessage = replaceAttributes(getMessage(message, field), constraintViolation);
+        String helper = getFieldHelper(constraintViolation.getLeafBean().getClass().getName(), field);
+        errors.addError(prefix + field, customMessage, helper);
+    }
+
     /**
      * Retorna uma mensagem tratada para um campo
      *
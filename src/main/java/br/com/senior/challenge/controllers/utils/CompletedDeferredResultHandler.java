@@ -0,0 +1,82 @@
+package br.com.senior.challenge.controllers.utils;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.lang.reflect.Type;
+
+/**
+ * Trata os {@link DeferredResult} já preenchidos pelo {@link ControllerExecutor} com a execução assíncrona desabilitada,
+ * escrevendo o retorno na própria requisição, sem iniciar o processamento assíncrono e o novo despacho do Spring MVC
+ */
+public class CompletedDeferredResultHandler implements HandlerMethodReturnValueHandler {
+
+    private final HandlerMethodReturnValueHandlerComposite delegate;
+
+    public CompletedDeferredResultHandler(HandlerMethodReturnValueHandlerComposite delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return DeferredResult.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest) throws Exception {
+        DeferredResult<?> deferredResult = (DeferredResult<?>) returnValue;
+        if (deferredResult == null || !deferredResult.hasResult()) {
+            delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+            return;
+        }
+        Object result = deferredResult.getResult();
+        if (result instanceof Exception) {
+            throw (Exception) result;
+        }
+        delegate.handleReturnValue(result, new ResultMethodParameter(returnType, result), mavContainer, webRequest);
+    }
+
+    /**
+     * Tipo de retorno do método com o {@link DeferredResult} substituído pelo seu conteúdo
+     */
+    private static class ResultMethodParameter extends MethodParameter {
+
+        private final Object result;
+        private final ResolvableType resultType;
+
+        ResultMethodParameter(MethodParameter returnType, Object result) {
+            super(returnType);
+            this.result = result;
+            this.resultType = ResolvableType.forMethodParameter(returnType).getGeneric();
+        }
+
+        private ResultMethodParameter(ResultMethodParameter original) {
+            super(original);
+            this.result = original.result;
+            this.resultType = original.resultType;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return result != null ? result.getClass() : resultType.toClass();
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return resultType.getType();
+        }
+
+        @Override
+        public ResultMethodParameter clone() {
+            return new ResultMethodParameter(this);
+        }
+
+    }
+
+}
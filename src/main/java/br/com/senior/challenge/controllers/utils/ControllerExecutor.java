@@ -0,0 +1,165 @@
+package br.com.senior.challenge.controllers.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa o trabalho dos Controllers. Com {@code controllers.async.enabled} a execução ocorre fora da thread do Tomcat,
+ * em no máximo {@code controllers.async.pool-size} execuções simultâneas (por padrão o tamanho do pool de conexões),
+ * utilizando virtual threads quando o runtime as suportar. Desabilitado, o trabalho é executado na própria requisição.
+ * <p>
+ * Requisições além de {@code controllers.async.queue-capacity} aguardando execução são recusadas com {@link RejectedExecutionException}
+ * e as que expiraram ({@code spring.mvc.async.request-timeout}) enquanto aguardavam são descartadas sem executar
+ */
+@Component
+public class ControllerExecutor implements DisposableBean {
+
+    public static final String QUEUED = "controllers.async.queued";
+    public static final String WAITING = "controllers.async.waiting";
+    public static final String ACTIVE = "controllers.async.active";
+    public static final String REJECTED = "controllers.async.rejected";
+    public static final String EXPIRED = "controllers.async.expired";
+
+    private final boolean enabled;
+    private final int queueCapacity;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer queued;
+    private final Counter rejected;
+    private final Counter expired;
+
+    public ControllerExecutor(MeterRegistry registry,
+                              @Value("${controllers.async.enabled:false}") boolean enabled,
+                              @Value("${controllers.async.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+                              @Value("${controllers.async.queue-capacity:1000}") int queueCapacity) {
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        ExecutorService virtualThreads = enabled ? newVirtualThreadExecutor() : null;
+        if (virtualThreads != null) {
+            this.executor = virtualThreads;
+            this.permits = new Semaphore(poolSize);
+        } else {
+            this.executor = enabled ? new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), new CustomizableThreadFactory("controller-")) : null;
+            this.permits = null;
+        }
+
+        String threads = virtualThreads != null ? "virtual" : "platform";
+        this.queued = Timer.builder(QUEUED).tag("threads", threads).register(registry);
+        this.rejected = Counter.builder(REJECTED).tag("threads", threads).register(registry);
+        this.expired = Counter.builder(EXPIRED).tag("threads", threads).register(registry);
+        Gauge.builder(WAITING, waiting, AtomicInteger::get).tag("threads", threads).register(registry);
+        Gauge.builder(ACTIVE, active, AtomicInteger::get).tag("threads", threads).register(registry);
+    }
+
+    /**
+     * Executa o trabalho de uma requisição, propagando o contexto da requisição para a execução
+     *
+     * @param work Trabalho da requisição
+     * @param <T>  Tipo do retorno
+     * @return {@link DeferredResult} com o retorno, já preenchido quando a execução assíncrona estiver desabilitada,
+     * caso em que é escrito de forma síncrona pelo {@link CompletedDeferredResultHandler}
+     */
+    public <T> DeferredResult<T> submit(Supplier<T> work) {
+        DeferredResult<T> result = new DeferredResult<>();
+        if (!enabled) {
+            result.setResult(work.get());
+            return result;
+        }
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new RejectedExecutionException("Fila de requisições cheia");
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        LocaleContext locale = LocaleContextHolder.getLocaleContext();
+        long submitted = System.nanoTime();
+        try {
+            executor.execute(() -> run(work, result, submitted, attributes, locale));
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw e;
+        }
+        return result;
+    }
+
+    private <T> void run(Supplier<T> work, DeferredResult<T> result, long submitted, RequestAttributes attributes, LocaleContext locale) {
+        try {
+            if (permits != null) {
+                permits.acquire();
+            }
+        } catch (InterruptedException e) {
+            waiting.decrementAndGet();
+            Thread.currentThread().interrupt();
+            result.setErrorResult(e);
+            return;
+        }
+        try {
+            waiting.decrementAndGet();
+            queued.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            if (result.isSetOrExpired()) {
+                expired.increment();
+                return;
+            }
+            active.incrementAndGet();
+            RequestContextHolder.setRequestAttributes(ControllerUtils.copyOf(attributes));
+            LocaleContextHolder.setLocaleContext(locale);
+            try {
+                result.setResult(work.get());
+            } catch (Throwable e) {
+                result.setErrorResult(e);
+            } finally {
+                LocaleContextHolder.resetLocaleContext();
+                RequestContextHolder.resetRequestAttributes();
+                active.decrementAndGet();
+            }
+        } finally {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Retorna um executor de virtual threads, disponível a partir do Java 21, ou nulo caso o runtime não suporte
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -1,9 +1,7 @@
 package br.com.senior.challenge.controllers.utils;
 
-import org.springframework.hateoas.Link;
-
-import java.net.URI;
-import java.net.URISyntaxException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
  * Classe utilitária para Controllers
@@ -15,25 +13,18 @@ public final class ControllerUtils {
     }
 
     /**
-     * Adjust the {@link Link} such that it starts at {@literal basePath}.
+     * Os atributos da thread da requisição são encerrados quando ela retorna ao Tomcat, portanto a execução
+     * em outra thread recebe novos atributos sobre a mesma requisição, que permanece aberta até a resposta
      *
-     * @param link     - link presumably supplied via Spring HATEOAS
-     * @param basePath - base path provided by Spring Data REST
-     * @return new {@link Link} with these two values melded together
+     * @param attributes Atributos da requisição atual, podendo ser nulo
+     * @return Novos atributos sobre a mesma requisição
      */
-    public static Link applyBasePath(Link link, String basePath) {
-
-        URI uri = link.toUri();
-
-        URI newUri = null;
-        try {
-            newUri = new URI(uri.getScheme(), uri.getUserInfo(), uri.getHost(), //
-                    uri.getPort(), basePath + uri.getPath(), uri.getQuery(), uri.getFragment());
-        } catch (URISyntaxException e) {
-            throw new IllegalArgumentException("Link não é válido " + uri);
+    public static RequestAttributes copyOf(RequestAttributes attributes) {
+        if (attributes instanceof ServletRequestAttributes) {
+            ServletRequestAttributes servletAttributes = (ServletRequestAttributes) attributes;
+            return new ServletRequestAttributes(servletAttributes.getRequest(), servletAttributes.getResponse());
         }
-
-        return new Link(newUri.toString(), link.getRel());
+        return attributes;
     }
 
 }
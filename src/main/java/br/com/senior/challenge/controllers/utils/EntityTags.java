@@ -0,0 +1,136 @@
+package br.com.senior.challenge.controllers.utils;
+
+import br.com.senior.challenge.entities.Versioned;
+import br.com.senior.challenge.exceptions.PreconditionFailedException;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * ETags fortes dos registros com versão ({@link Versioned}). A ETag é a própria versão entre aspas, permitindo
+ * responder {@code If-None-Match} consultando somente a versão e validar {@code If-Match} nas alterações
+ */
+public final class EntityTags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private EntityTags() {
+        //Utility class
+    }
+
+    /**
+     * ETag forte de uma versão
+     *
+     * @param version Versão do registro
+     * @return ETag entre aspas
+     */
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Responde a leitura de um registro. Caso alguma ETag de {@code If-None-Match} corresponda à versão atual
+     * é retornado 304 sem carregar o registro, senão o registro é carregado e retornado com sua ETag
+     *
+     * @param ifNoneMatch Cabeçalho {@code If-None-Match}, podendo ser nulo
+     * @param version     Consulta da versão atual do registro
+     * @param model       Consulta do registro
+     * @param <T>         Tipo do registro
+     * @return {@link ResponseEntity} com a ETag do registro
+     */
+    public static <T extends Versioned> ResponseEntity<EntityModel<T>> ok(String ifNoneMatch, Supplier<Long> version,
+                                                                           Supplier<EntityModel<T>> model) {
+        ResponseEntity<EntityModel<T>> notModified = notModified(ifNoneMatch, version);
+        return notModified != null ? notModified : ok(model.get());
+    }
+
+    /**
+     * Resposta 304 caso alguma ETag de {@code If-None-Match} corresponda à versão atual do registro
+     *
+     * @param ifNoneMatch Cabeçalho {@code If-None-Match}, podendo ser nulo
+     * @param version     Consulta da versão atual do registro, realizada somente se o cabeçalho foi informado
+     * @param <T>         Tipo do corpo da resposta
+     * @return {@link ResponseEntity} 304 ou nulo caso o registro tenha sido alterado
+     */
+    public static <T> ResponseEntity<T> notModified(String ifNoneMatch, Supplier<Long> version) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return null;
+        }
+        Long current = version.get();
+        return matches(ifNoneMatch, current) ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(of(current)).<T>build() : null;
+    }
+
+    /**
+     * Retorna o registro com sua ETag
+     *
+     * @param model Representação do registro
+     * @param <T>   Tipo do registro
+     * @return {@link ResponseEntity} com a ETag do registro
+     */
+    public static <T extends Versioned> ResponseEntity<EntityModel<T>> ok(EntityModel<T> model) {
+        return ResponseEntity.ok().eTag(of(model.getContent().getVersion())).body(model);
+    }
+
+    /**
+     * Versão esperada pelo cabeçalho {@code If-Match}. Somente ETags fortes são comparadas e, sendo a versão
+     * do registro única, somente a primeira ETag da lista é considerada. Caso nenhuma ETag forte seja informada
+     * será lançado um {@link PreconditionFailedException}
+     *
+     * @param ifMatch Cabeçalho {@code If-Match}, podendo ser nulo
+     * @param id      ID do registro
+     * @return Versão esperada, nula quando o cabeçalho não foi informado ou é {@code *}
+     */
+    public static Long expectedVersion(String ifMatch, UUID id) {
+        if (!StringUtils.hasText(ifMatch) || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        Long version = parse(StringUtils.commaDelimitedListToStringArray(ifMatch)[0].trim());
+        if (version == null) {
+            throw new PreconditionFailedException(id);
+        }
+        return version;
+    }
+
+    /**
+     * Verifica se alguma ETag da lista corresponde à versão, pela comparação fraca do {@code If-None-Match}
+     *
+     * @param header  Lista de ETags separadas por vírgula
+     * @param version Versão atual do registro
+     * @return Verdadeiro se corresponder
+     */
+    private static boolean matches(String header, Long version) {
+        for (String tag : StringUtils.commaDelimitedListToStringArray(header)) {
+            tag = tag.trim();
+            if (ANY.equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (version.equals(parse(tag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Versão de uma ETag forte, nula caso não seja uma ETag gerada por {@link #of(Long)}
+     */
+    private static Long parse(String tag) {
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package br.com.senior.challenge.controllers.utils;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Link de um método de Controller resolvido uma única vez, na inicialização.
+ * A expansão concatena os IDs aos trechos fixos do caminho, gerando o mesmo link que
+ * {@code linkTo(methodOn(...))} com o {@code basePath} prefixado ao caminho
+ * <p>
+ * Exemplo: {@code LinkTemplate.of(on(ItemController.class).findById(argument(0), null), basePath, IanaLinkRelations.SELF)}
+ */
+public final class LinkTemplate {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".BASE_URI";
+    private static final int MAX_ARGUMENTS = 8;
+
+    private final String basePath;
+    private final String[] fragments;
+    private final int[] arguments;
+    private final LinkRelation rel;
+
+    private LinkTemplate(String basePath, String[] fragments, int[] arguments, LinkRelation rel) {
+        this.basePath = basePath;
+        this.fragments = fragments;
+        this.arguments = arguments;
+        this.rel = rel;
+    }
+
+    /**
+     * Valor a ser informado na chamada do método do Controller, no lugar do ID a ser expandido
+     *
+     * @param index Posição do ID em {@link #expand(UUID...)}
+     * @return {@link UUID} reservado para a posição
+     */
+    public static UUID argument(int index) {
+        return new UUID(0L, index + 1L);
+    }
+
+    /**
+     * Resolve o caminho de uma chamada a um método de Controller
+     *
+     * @param invocation Chamada registrada por {@link MvcUriComponentsBuilder#on(Class)}
+     * @param basePath   Caminho base do Spring Data REST
+     * @param rel        Relação do link
+     * @return {@link LinkTemplate}
+     */
+    public static LinkTemplate of(Object invocation, String basePath, LinkRelation rel) {
+        String path = MvcUriComponentsBuilder.fromMethodCall(UriComponentsBuilder.newInstance(), invocation).toUriString();
+
+        List<String> fragments = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            int position = -1;
+            int argument = -1;
+            for (int i = 0; i < MAX_ARGUMENTS; i++) {
+                int found = path.indexOf(argument(i).toString(), start);
+                if (found >= 0 && (position < 0 || found < position)) {
+                    position = found;
+                    argument = i;
+                }
+            }
+            if (position < 0) {
+                break;
+            }
+            fragments.add(path.substring(start, position));
+            arguments.add(argument);
+            start = position + argument(argument).toString().length();
+        }
+        fragments.add(path.substring(start));
+
+        return new LinkTemplate(basePath, fragments.toArray(new String[0]), arguments.stream().mapToInt(Integer::intValue).toArray(), rel);
+    }
+
+    /**
+     * Gera o link para os IDs informados, na posição definida por {@link #argument(int)}
+     *
+     * @param ids IDs a serem expandidos
+     * @return {@link Link}
+     */
+    public Link expand(UUID... ids) {
+        String[] baseUri = getBaseUri();
+        StringBuilder href = new StringBuilder(128)
+                .append(baseUri[0])
+                .append(basePath)
+                .append(baseUri[1]);
+        for (int i = 0; i < arguments.length; i++) {
+            href.append(fragments[i]).append(ids[arguments[i]]);
+        }
+        href.append(fragments[arguments.length]);
+        return new Link(href.toString(), rel);
+    }
+
+    /**
+     * Retorna a origem e o caminho do servlet da requisição atual, calculados uma vez por requisição
+     */
+    private static String[] getBaseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new String[]{"", ""};
+        }
+        String[] baseUri = (String[]) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            UriComponents components = ServletUriComponentsBuilder.fromCurrentServletMapping().build();
+            String uri = components.toUriString();
+            String path = components.getPath() == null ? "" : components.getPath();
+            baseUri = new String[]{uri.substring(0, uri.length() - path.length()), path};
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+}
@@ -1,23 +1,27 @@
 package br.com.senior.challenge.entities;
 
+import br.com.senior.challenge.entities.generators.UuidGenerator;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.util.UUID;
 
 /**
- * Entidade base para as demais entidades do sistema
+ * Entidade base para as demais entidades do sistema.
+ * A estratégia de geração do ID pode ser definida por entidade com {@link br.com.senior.challenge.entities.generators.UuidGeneration}
  */
 @MappedSuperclass
 @EqualsAndHashCode
 @Getter
 @Setter
-public abstract class AbstractBaseEntity {
+public abstract class AbstractBaseEntity implements Identifiable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = UuidGenerator.NAME)
+    @GenericGenerator(name = UuidGenerator.NAME, strategy = "br.com.senior.challenge.entities.generators.UuidGenerator")
     @Column(name = "ID", updatable = false, unique = true, nullable = false)
     private UUID id;
 
@@ -0,0 +1,18 @@
+package br.com.senior.challenge.entities;
+
+/**
+ * Regiões do cache de segundo nível das entidades e consultas
+ */
+public final class EntityCacheRegions {
+
+    public static final String ITEM = "item";
+    public static final String ITEM_LIST = "item-list";
+    public static final String SALES_ORDER = "sales-order";
+    public static final String SALES_ORDER_ITENS = "sales-order-itens";
+    public static final String SALES_ORDER_ITEM = "sales-order-item";
+
+    private EntityCacheRegions() {
+        //Utility Class
+    }
+
+}
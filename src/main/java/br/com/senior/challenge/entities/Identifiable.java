@@ -0,0 +1,12 @@
+package br.com.senior.challenge.entities;
+
+import java.util.UUID;
+
+/**
+ * Entidade identificada por um {@link UUID}, gerado ({@link AbstractBaseEntity}) ou atribuído
+ */
+public interface Identifiable {
+
+    UUID getId();
+
+}
@@ -1,12 +1,16 @@
 package br.com.senior.challenge.entities;
 
 import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.resources.search.TextSearchListener;
+import br.com.senior.challenge.resources.search.TextSearchable;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -23,6 +27,9 @@ import static br.com.senior.challenge.controllers.handlers.ErrorConstraints.FIEL
 @ToString(onlyExplicitlyIncluded = true)
 @JsonIgnoreProperties("salesOrderItems")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.ITEM)
+@EntityListeners(TextSearchListener.class)
 @Table(name = "ITEM",
         uniqueConstraints = {
                 @UniqueConstraint(name = EntityConstraints.UK_ITEM_NAME, columnNames = {Item.DS_NAME})
@@ -32,13 +39,14 @@ import static br.com.senior.challenge.controllers.handlers.ErrorConstraints.FIEL
         }
 
 )
-public class Item extends AbstractBaseEntity {
+public class Item extends AbstractBaseEntity implements Versioned {
 
     public static final String DS_NAME = "DS_NAME";
 
     @NotNull(message = FIELD_NOT_NULL)
     @Size(min = 10, max = 128, message = "field.size")
     @ToString.Include
+    @TextSearchable
     @Column(name = DS_NAME, length = 128, nullable = false)
     private String name;
 
@@ -50,12 +58,21 @@ public class Item extends AbstractBaseEntity {
 
     @NotBlank(message = FIELD_NOT_NULL)
     @Size(min = 8, max = 256, message = FIELD_SIZE)
+    @TextSearchable
     @Column(name = "DS_DESCRIPTION", length = 256, nullable = false)
     private String description;
 
     @Column(name = "FG_ACTIVE", nullable = false)
     private Boolean active;
 
+    /**
+     * Versão do registro, incrementada a cada alteração para detectar alterações concorrentes.
+     * Nas alterações por ID é assumida a versão atual do registro
+     */
+    @Version
+    @Column(name = "NR_VERSION", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @JsonIgnoreProperties({"order", "item"})
     @OneToMany(mappedBy = "item", fetch = FetchType.LAZY)
     @JsonIgnore
@@ -2,6 +2,10 @@ package br.com.senior.challenge.entities;
 
 import br.com.senior.challenge.entities.enums.ItemType;
 import br.com.senior.challenge.entities.enums.OrderStatus;
+import br.com.senior.challenge.entities.generators.UuidGeneration;
+import br.com.senior.challenge.entities.generators.UuidStrategy;
+import br.com.senior.challenge.resources.search.TextSearchListener;
+import br.com.senior.challenge.resources.search.TextSearchable;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -9,6 +13,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.Digits;
@@ -26,6 +32,10 @@ import static br.com.senior.challenge.controllers.handlers.ErrorConstraints.FIEL
 @ToString(onlyExplicitlyIncluded = true)
 @JsonIgnoreProperties("itens")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.SALES_ORDER)
+@EntityListeners(TextSearchListener.class)
+@UuidGeneration(UuidStrategy.TIME_ORDERED)
 @Table(name = "SALES_ORDER",
         uniqueConstraints = {
                 @UniqueConstraint(name = EntityConstraints.UK_SALES_ORDER_REF, columnNames = {SalesOrder.FIELD_DS_REF})
@@ -34,15 +44,17 @@ import static br.com.senior.challenge.controllers.handlers.ErrorConstraints.FIEL
                 @Index(name = "IDX_SALES_ORDER_REF", columnList = "DS_REF")
         }
 )
-public class SalesOrder extends AbstractBaseEntity {
+public class SalesOrder extends AbstractBaseEntity implements Versioned {
 
     public static final String FIELD_DS_REF = "DS_REF";
 
     @NotNull(message = FIELD_NOT_NULL)
     @ToString.Include
+    @TextSearchable
     @Column(name = FIELD_DS_REF, length = 64, nullable = false)
     private String reference;
 
+    @TextSearchable
     @Column(name = "DS_COMMENTS", length = 256)
     private String comments;
 
@@ -58,7 +70,24 @@ public class SalesOrder extends AbstractBaseEntity {
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private BigDecimal total;
 
+    @Column(name = "VL_PRODUCTS", precision = 12, scale = 4)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private BigDecimal productsAmount;
+
+    @Column(name = "VL_SERVICES", precision = 12, scale = 4)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private BigDecimal servicesAmount;
+
+    /**
+     * Versão do registro, incrementada a cada alteração para detectar alterações concorrentes.
+     * Nas alterações por ID é assumida a versão atual do registro
+     */
+    @Version
+    @Column(name = "NR_VERSION", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @OneToMany(mappedBy = "order")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.SALES_ORDER_ITENS)
     @JsonIgnore
     private Set<SalesOrderItem> itens = new HashSet<>();
 
@@ -73,4 +102,28 @@ public class SalesOrder extends AbstractBaseEntity {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Retorna o subtotal dos itens do pedido conforme tipo
+     *
+     * @param type Tipo do item {@link ItemType}
+     * @return Subtotal dos itens do tipo
+     */
+    public BigDecimal getAmountByType(ItemType type) {
+        return type == ItemType.PRODUCT ? getProductsAmount() : getServicesAmount();
+    }
+
+    /**
+     * Soma um valor ao subtotal dos itens do pedido conforme tipo
+     *
+     * @param type   Tipo do item {@link ItemType}
+     * @param amount Valor a ser somado, negativo para subtrair
+     */
+    public void addAmountByType(ItemType type, BigDecimal amount) {
+        if (type == ItemType.PRODUCT) {
+            setProductsAmount(getProductsAmount().add(amount));
+        } else {
+            setServicesAmount(getServicesAmount().add(amount));
+        }
+    }
+
 }
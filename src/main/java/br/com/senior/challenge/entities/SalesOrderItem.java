@@ -1,9 +1,13 @@
 package br.com.senior.challenge.entities;
 
+import br.com.senior.challenge.entities.generators.UuidGeneration;
+import br.com.senior.challenge.entities.generators.UuidStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.Digits;
@@ -19,9 +23,27 @@ import static br.com.senior.challenge.controllers.handlers.ErrorConstraints.FIEL
 @NoArgsConstructor
 @JsonIgnoreProperties({"order", "type"})
 @Entity
-@Table(name = "SALES_ORDER_ITEM")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.SALES_ORDER_ITEM)
+@UuidGeneration(UuidStrategy.TIME_ORDERED)
+@NamedEntityGraph(name = SalesOrderItem.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode("order"),
+                @NamedAttributeNode("item")
+        }
+)
+@Table(name = "SALES_ORDER_ITEM",
+        indexes = {
+                @Index(name = "IDX_SALES_ORDER_ITEM_ORDER", columnList = "ID_SALES_ORDER, ID")
+        }
+)
 public class SalesOrderItem extends AbstractBaseEntity {
 
+    /**
+     * Grafo que carrega o pedido e o item na mesma consulta da linha
+     */
+    public static final String GRAPH_DETAIL = "SalesOrderItem.detail";
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "ID_SALES_ORDER", foreignKey = @ForeignKey(name = EntityConstraints.FK_SALES_ORDER_SALES_ORDER_ITEM), nullable = false)
     private SalesOrder order;
@@ -0,0 +1,111 @@
+package br.com.senior.challenge.entities;
+
+import br.com.senior.challenge.entities.enums.OrderStatus;
+import br.com.senior.challenge.resources.search.TextSearchListener;
+import br.com.senior.challenge.resources.search.TextSearchable;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Resumo de um {@link SalesOrder} para as listagens, mantido na mesma transação das alterações do pedido.
+ * Identificado pelo ID do pedido e sem associações, a listagem é atendida sem junções.
+ * <p>
+ * Os índices atendem os filtros e o cursor da paginação ({@code ID} como desempate). No PostgreSQL são recriados
+ * com os valores, o status, a referência e a quantidade de itens em {@code INCLUDE} por
+ * {@link br.com.senior.challenge.resources.repositories.SalesOrderSummaryIndexes}, pois o JPA não expressa essas colunas
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(onlyExplicitlyIncluded = true)
+@Entity
+@EntityListeners(TextSearchListener.class)
+@Table(name = "SALES_ORDER_SUMMARY",
+        indexes = {
+                @Index(name = "IDX_SALES_ORDER_SUMMARY_REF", columnList = "DS_REF, ID"),
+                @Index(name = "IDX_SALES_ORDER_SUMMARY_STATUS", columnList = "CD_STATUS, ID"),
+                @Index(name = "IDX_SALES_ORDER_SUMMARY_TOTAL", columnList = "VL_TOTAL, ID")
+        }
+)
+public class SalesOrderSummary implements Identifiable, Persistable<UUID> {
+
+    @Id
+    @Column(name = "ID", updatable = false, nullable = false)
+    private UUID id;
+
+    @ToString.Include
+    @TextSearchable
+    @Column(name = "DS_REF", length = 64, nullable = false)
+    private String reference;
+
+    @TextSearchable
+    @Column(name = "DS_COMMENTS", length = 256)
+    private String comments;
+
+    @Column(name = "CD_STATUS", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Column(name = "VL_DISCOUNT", precision = 5, scale = 2)
+    private BigDecimal discount;
+
+    @Column(name = "VL_TOTAL", precision = 12, scale = 4)
+    private BigDecimal total;
+
+    @Column(name = "VL_PRODUCTS", precision = 12, scale = 4)
+    private BigDecimal productsAmount;
+
+    @Column(name = "VL_SERVICES", precision = 12, scale = 4)
+    private BigDecimal servicesAmount;
+
+    /**
+     * Quantidade de itens do pedido
+     */
+    @Column(name = "QT_LINES", nullable = false)
+    private Integer lineCount;
+
+    @Transient
+    @JsonIgnore
+    private boolean created;
+
+    /**
+     * Cria o resumo de um pedido ainda não resumido
+     *
+     * @param id ID do {@link SalesOrder}
+     */
+    public SalesOrderSummary(UUID id) {
+        this.id = id;
+        this.lineCount = 0;
+        this.created = true;
+    }
+
+    /**
+     * Copia os valores atuais do pedido
+     *
+     * @param order {@link SalesOrder}
+     */
+    public void summarize(SalesOrder order) {
+        setReference(order.getReference());
+        setComments(order.getComments());
+        setStatus(order.getStatus());
+        setDiscount(order.getDiscount());
+        setTotal(order.getTotal());
+        setProductsAmount(order.getProductsAmount());
+        setServicesAmount(order.getServicesAmount());
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return created;
+    }
+
+}
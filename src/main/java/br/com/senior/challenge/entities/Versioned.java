@@ -0,0 +1,10 @@
+package br.com.senior.challenge.entities;
+
+/**
+ * Entidade com versão ({@link javax.persistence.Version}), incrementada a cada alteração do registro
+ */
+public interface Versioned {
+
+    Long getVersion();
+
+}
@@ -0,0 +1,43 @@
+package br.com.senior.challenge.entities.generators;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera UUIDs ordenados pelo tempo, no formato da versão 7: 48 bits com o timestamp em milissegundos,
+ * 12 bits de contador para manter a ordem dentro do mesmo milissegundo e 62 bits aleatórios.
+ * Os valores gerados são monotônicos dentro da mesma JVM, mesmo com o relógio retrocedendo
+ */
+public final class TimeOrderedUuid {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    /**
+     * Último timestamp e contador gerados, no formato (timestamp << 12) | contador
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TimeOrderedUuid() {
+        //Utility Class
+    }
+
+    /**
+     * Gera um novo {@link UUID} ordenado pelo tempo
+     *
+     * @return {@link UUID}
+     */
+    public static UUID next() {
+        final long now = System.currentTimeMillis() << COUNTER_BITS;
+        final long current = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        final long timestamp = current >>> COUNTER_BITS;
+        final long counter = current & ((1L << COUNTER_BITS) - 1);
+        final long mostSigBits = (timestamp << 16) | VERSION | counter;
+        final long leastSigBits = (ThreadLocalRandom.current().nextLong() & RANDOM_MASK) | VARIANT;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+}
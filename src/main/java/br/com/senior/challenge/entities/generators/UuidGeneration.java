@@ -0,0 +1,16 @@
+package br.com.senior.challenge.entities.generators;
+
+import java.lang.annotation.*;
+
+/**
+ * Define a estratégia de geração do ID de uma entidade. Entidades sem esta anotação utilizam {@link UuidStrategy#RANDOM}
+ */
+@Documented
+@Inherited
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UuidGeneration {
+
+    UuidStrategy value();
+
+}
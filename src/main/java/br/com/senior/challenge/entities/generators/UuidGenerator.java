@@ -0,0 +1,41 @@
+package br.com.senior.challenge.entities.generators;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Configurable;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * Gerador de IDs {@link java.util.UUID} das entidades, gerados em memória sem acesso ao banco.
+ * A estratégia é definida por entidade através da anotação {@link UuidGeneration}
+ */
+public class UuidGenerator implements IdentifierGenerator, Configurable {
+
+    public static final String NAME = "uuid";
+
+    private UuidStrategy strategy = UuidStrategy.RANDOM;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        final String entityName = params.getProperty(ENTITY_NAME);
+        try {
+            final UuidGeneration generation = Class.forName(entityName).getAnnotation(UuidGeneration.class);
+            if (generation != null) {
+                strategy = generation.value();
+            }
+        } catch (ClassNotFoundException e) {
+            throw new MappingException("Entidade não encontrada " + entityName, e);
+        }
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return strategy.generate();
+    }
+
+}
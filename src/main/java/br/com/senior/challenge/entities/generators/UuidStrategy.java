@@ -0,0 +1,36 @@
+package br.com.senior.challenge.entities.generators;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Estratégias de geração de {@link UUID} para o ID das entidades
+ */
+public enum UuidStrategy {
+
+    /**
+     * UUID versão 4, totalmente aleatório
+     */
+    RANDOM(UUID::randomUUID),
+
+    /**
+     * UUID ordenado pelo tempo de criação, ver {@link TimeOrderedUuid}
+     */
+    TIME_ORDERED(TimeOrderedUuid::next);
+
+    private final Supplier<UUID> supplier;
+
+    UuidStrategy(Supplier<UUID> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Gera um novo {@link UUID} conforme a estratégia
+     *
+     * @return {@link UUID}
+     */
+    public UUID generate() {
+        return supplier.get();
+    }
+
+}
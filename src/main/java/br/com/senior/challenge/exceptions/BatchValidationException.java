@@ -0,0 +1,52 @@
+package br.com.senior.challenge.exceptions;
+
+import lombok.Getter;
+
+import javax.validation.ConstraintViolation;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exception para erros de validação de registros enviados em lote, agrupados pela posição do registro
+ */
+@Getter
+public class BatchValidationException extends RuntimeException {
+
+    private final Map<Integer, Set<? extends ConstraintViolation<?>>> violations = new LinkedHashMap<>();
+    private final Map<Integer, BusinessException> errors = new LinkedHashMap<>();
+
+    public BatchValidationException() {
+        super("batch.invalid");
+    }
+
+    /**
+     * Adiciona as violações de Bean Validation de um registro
+     *
+     * @param index      Posição do registro no lote
+     * @param violations Violações do registro
+     */
+    public void addViolations(int index, Set<? extends ConstraintViolation<?>> violations) {
+        this.violations.put(index, violations);
+    }
+
+    /**
+     * Adiciona um erro de regra de negócio de um registro
+     *
+     * @param index Posição do registro no lote
+     * @param error Erro do registro
+     */
+    public void addError(int index, BusinessException error) {
+        errors.put(index, error);
+    }
+
+    /**
+     * Verifica se algum registro do lote possui erro
+     *
+     * @return Verdadeiro caso exista algum erro
+     */
+    public boolean hasErrors() {
+        return !violations.isEmpty() || !errors.isEmpty();
+    }
+
+}
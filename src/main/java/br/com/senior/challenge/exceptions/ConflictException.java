@@ -0,0 +1,12 @@
+package br.com.senior.challenge.exceptions;
+
+/**
+ * Exception para registro que viola uma constraint de unicidade, detectado antes da inclusão no banco
+ */
+public class ConflictException extends BusinessException {
+
+    public ConflictException(String constraint) {
+        super("constraint.violation." + constraint);
+    }
+
+}
@@ -0,0 +1,14 @@
+package br.com.senior.challenge.exceptions;
+
+import java.util.UUID;
+
+/**
+ * Exception para registro alterado desde a versão informada pelo cliente ({@code If-Match})
+ */
+public class PreconditionFailedException extends BusinessException {
+
+    public PreconditionFailedException(UUID id) {
+        super("record.precondition.failed", id.toString());
+    }
+
+}
@@ -0,0 +1,44 @@
+package br.com.senior.challenge.resources.assembler;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Representação {@link EntityModel} com recursos relacionados incorporados em {@code _embedded},
+ * evitando uma requisição adicional para cada associação
+ *
+ * @param <T> Tipo da entidade
+ */
+public class EmbeddedEntityModel<T> extends EntityModel<T> {
+
+    private final Map<String, Object> embedded = new LinkedHashMap<>();
+
+    public EmbeddedEntityModel(T content, Link... links) {
+        super(content, links);
+    }
+
+    /**
+     * Incorpora recursos relacionados à representação
+     *
+     * @param rel       Relação dos recursos
+     * @param resources Recursos incorporados
+     * @return {@link EmbeddedEntityModel}
+     */
+    public EmbeddedEntityModel<T> embed(String rel, Object resources) {
+        embedded.put(rel, resources);
+        return this;
+    }
+
+    @JsonProperty("_embedded")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public Map<String, Object> getEmbedded() {
+        return Collections.unmodifiableMap(embedded);
+    }
+
+}
@@ -2,6 +2,7 @@ package br.com.senior.challenge.resources.assembler;
 
 import br.com.senior.challenge.controllers.SalesOrderItemController;
 import br.com.senior.challenge.entities.SalesOrderItem;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.stereotype.Component;
 
@@ -16,4 +17,9 @@ public class SalesOrderItemResourceAssembler extends SimpleIdentifiableRepresent
     public void addLinks(EntityModel<SalesOrderItem> resource) {
         // Noop
     }
+
+    @Override
+    public void addLinks(CollectionModel<EntityModel<SalesOrderItem>> resources) {
+        // Noop
+    }
 }
@@ -0,0 +1,20 @@
+package br.com.senior.challenge.resources.assembler;
+
+import br.com.senior.challenge.controllers.SalesOrderController;
+import br.com.senior.challenge.entities.SalesOrderSummary;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SalesOrderSummaryResourceAssembler extends SimpleIdentifiableRepresentationModelAssembler<SalesOrderSummary> {
+
+    SalesOrderSummaryResourceAssembler() {
+        super(SalesOrderController.class);
+    }
+
+    @Override
+    public void addLinks(EntityModel<SalesOrderSummary> resource) {
+        // Noop
+    }
+
+}
@@ -0,0 +1,103 @@
+package br.com.senior.challenge.resources.assembler;
+
+import br.com.senior.challenge.controllers.SalesOrderItemController;
+import br.com.senior.challenge.controllers.utils.LinkTemplate;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.resources.pagination.KeysetPagination;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.server.mvc.RepresentationModelProcessorInvoker;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static br.com.senior.challenge.controllers.utils.LinkTemplate.argument;
+import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.on;
+
+/**
+ * Monta a representação de um pedido com suas linhas incorporadas em {@code _embedded}.
+ * São incorporadas no máximo {@code sales-order.embed.max-itens} linhas, as demais são acessíveis pelo link
+ * {@code itens-next}, que continua a listagem paginada por cursor dos itens do pedido
+ */
+@Component
+public class SalesOrderWithItensAssembler {
+
+    /**
+     * Valor do parâmetro {@code embed} que incorpora as linhas do pedido
+     */
+    public static final String EMBED = "itens";
+
+    private static final String REL = "sales-order-itens";
+    private static final ResolvableType ITEM_TYPE = ResolvableType.forClassWithGenerics(EntityModel.class, SalesOrderItem.class);
+
+    private final SalesOrderResourceAssembler orderAssembler;
+    private final SalesOrderItemResourceAssembler itemAssembler;
+    private final RepresentationModelProcessorInvoker processorInvoker;
+    private final KeysetPagination keysetPagination;
+    private final LinkTemplate next;
+    private final int maxItens;
+
+    public SalesOrderWithItensAssembler(SalesOrderResourceAssembler orderAssembler,
+                                        SalesOrderItemResourceAssembler itemAssembler,
+                                        RepresentationModelProcessorInvoker processorInvoker,
+                                        KeysetPagination keysetPagination,
+                                        RepositoryRestConfiguration configuration,
+                                        @Value("${sales-order.embed.max-itens:100}") int maxItens) {
+        this.orderAssembler = orderAssembler;
+        this.itemAssembler = itemAssembler;
+        this.processorInvoker = processorInvoker;
+        this.keysetPagination = keysetPagination;
+        this.next = LinkTemplate.of(on(SalesOrderItemController.class).findByOrderId(argument(0), null, Pageable.unpaged(), null),
+                configuration.getBasePath().toString(), LinkRelation.of("itens-next"));
+        this.maxItens = maxItens;
+    }
+
+    /**
+     * Quantidade de registros a consultar: o limite de linhas incorporadas e mais um, que indica a continuação
+     *
+     * @return Quantidade de registros
+     */
+    public int getFetchSize() {
+        return maxItens + 1;
+    }
+
+    /**
+     * Converte os registros de {@link br.com.senior.challenge.resources.repositories.SalesOrderRepository#findWithItensById}
+     * em uma representação do pedido com as linhas incorporadas
+     *
+     * @param rows Registros com o pedido e uma linha cada, ordenados pelo ID da linha
+     * @return {@link EmbeddedEntityModel} de um {@link SalesOrder}
+     */
+    public EmbeddedEntityModel<SalesOrder> toModel(List<Object[]> rows) {
+        final SalesOrder order = (SalesOrder) rows.get(0)[0];
+        final List<SalesOrderItem> lines = rows.stream()
+                .map(row -> (SalesOrderItem) row[1])
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        final EmbeddedEntityModel<SalesOrder> model = new EmbeddedEntityModel<>(order);
+        orderAssembler.addLinks(model);
+        if (!lines.isEmpty()) {
+            model.embed(REL, lines.stream()
+                    .limit(maxItens)
+                    .map(line -> processorInvoker.invokeProcessorsFor(itemAssembler.toModel(line), ITEM_TYPE))
+                    .collect(Collectors.toList()));
+        }
+
+        if (lines.size() > maxItens) {
+            final Link link = next.expand(order.getId());
+            final String cursor = keysetPagination.after(lines.get(maxItens - 1).getId());
+            model.add(link.withHref(link.getHref() + "?" + KeysetPagination.PARAM + "=" + cursor + "&size=" + maxItens));
+        }
+        return model;
+    }
+
+}
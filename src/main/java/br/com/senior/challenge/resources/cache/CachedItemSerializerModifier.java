@@ -0,0 +1,115 @@
+package br.com.senior.challenge.resources.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.hateoas.EntityModel;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Serializa os {@link EntityModel} de {@link br.com.senior.challenge.entities.Item} com a representação do
+ * {@link ItemRepresentationCache}, quando presente, permitindo que as listagens incorporem o JSON já serializado.
+ * Somente geradores JSON são atendidos, os demais formatos são serializados normalmente
+ */
+public class CachedItemSerializerModifier extends BeanSerializerModifier {
+
+    private final ObjectProvider<ItemRepresentationCache> representations;
+
+    public CachedItemSerializerModifier(ObjectProvider<ItemRepresentationCache> representations) {
+        this.representations = representations;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+        if (EntityModel.class.equals(beanDesc.getBeanClass())) {
+            return new CachedItemSerializer((JsonSerializer<Object>) serializer, representations);
+        }
+        return serializer;
+    }
+
+    private static class CachedItemSerializer extends JsonSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> delegate;
+        private final ObjectProvider<ItemRepresentationCache> representations;
+
+        private CachedItemSerializer(JsonSerializer<Object> delegate, ObjectProvider<ItemRepresentationCache> representations) {
+            this.delegate = delegate;
+            this.representations = representations;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            if (gen instanceof JsonGeneratorImpl && gen.getPrettyPrinter() == null) {
+                ItemRepresentationCache cache = representations.getIfAvailable();
+                Optional<SerializableString> fragment = cache == null ? Optional.empty() : cache.fragment((EntityModel<?>) value);
+                if (fragment.isPresent()) {
+                    gen.writeRawValue(fragment.get());
+                    return;
+                }
+            }
+            delegate.serialize(value, gen, serializers);
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+            delegate.serializeWithType(value, gen, serializers, typeSer);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer) {
+                return wrap(((ContextualSerializer) delegate).createContextual(prov, property));
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) delegate).resolve(provider);
+            }
+        }
+
+        @Override
+        public JsonSerializer<Object> unwrappingSerializer(NameTransformer unwrapper) {
+            return delegate.unwrappingSerializer(unwrapper);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public boolean usesObjectId() {
+            return delegate.usesObjectId();
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+
+        @SuppressWarnings("unchecked")
+        private JsonSerializer<?> wrap(JsonSerializer<?> serializer) {
+            return serializer == delegate ? this : new CachedItemSerializer((JsonSerializer<Object>) serializer, representations);
+        }
+
+    }
+
+}
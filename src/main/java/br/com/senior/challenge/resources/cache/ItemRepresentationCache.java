@@ -0,0 +1,198 @@
+package br.com.senior.challenge.resources.cache;
+
+import br.com.senior.challenge.controllers.ItemController;
+import br.com.senior.challenge.controllers.utils.LinkTemplate;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.resources.assembler.ItemResourceAssembler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.hateoas.server.mvc.RepresentationModelProcessorInvoker;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import static br.com.senior.challenge.controllers.utils.LinkTemplate.argument;
+import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.on;
+
+/**
+ * Cache da representação HAL JSON já serializada de cada {@link Item}, limitado pelo total de bytes.
+ * Uma representação só é reaproveitada para a mesma versão do {@link Item} e o mesmo link {@code self}, que
+ * muda com o endereço da requisição. Deve ser invalidado após cada alteração salva de um {@link Item}.
+ * As quantidades são publicadas pelo {@link br.com.senior.challenge.resources.metrics.ItemRepresentationCacheMetrics}
+ */
+@Component
+public class ItemRepresentationCache {
+
+    private static final ResolvableType ITEM_TYPE = ResolvableType.forClassWithGenerics(EntityModel.class, Item.class);
+
+    private final ItemResourceAssembler assembler;
+    private final RepresentationModelProcessorInvoker processorInvoker;
+    private final LinkTemplate self;
+    private final ObjectWriter writer;
+    private final Cache<UUID, Representation> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ItemRepresentationCache(ItemResourceAssembler assembler,
+                                   RepresentationModelProcessorInvoker processorInvoker,
+                                   RepositoryRestConfiguration configuration,
+                                   ObjectMapper defaultMapper,
+                                   ObjectProvider<HalMediaTypeConfiguration> halConfiguration,
+                                   @Value("${cache.item.representation.maximum-size:16MB}") DataSize maximumSize) {
+        this.assembler = assembler;
+        this.processorInvoker = processorInvoker;
+        this.self = LinkTemplate.of(on(ItemController.class).findById(argument(0), null),
+                configuration.getBasePath().toString(), IanaLinkRelations.SELF);
+        HalMediaTypeConfiguration hal = halConfiguration.getIfAvailable();
+        ObjectMapper mapper = hal == null ? defaultMapper.copy() : hal.configureObjectMapper(defaultMapper.copy());
+        this.writer = mapper.writerFor(EntityModel.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((UUID id, Representation representation) -> representation.getBytes().length)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retorna a representação serializada de um {@link Item}, montando e serializando caso não esteja presente
+     * ou pertença a outra versão
+     *
+     * @param item {@link Item}
+     * @return {@link Representation} do {@link Item}
+     */
+    public Representation get(Item item) {
+        final String href = self.expand(item.getId()).getHref();
+        final Representation cached = cache.asMap().get(item.getId());
+        if (cached != null && cached.matches(item.getVersion(), href)) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        final EntityModel<Item> model = processorInvoker.invokeProcessorsFor(assembler.toModel(item), ITEM_TYPE);
+        final Representation representation;
+        try {
+            representation = new Representation(item.getVersion(), href, writer.writeValueAsBytes(model));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        cache.put(item.getId(), representation);
+        return representation;
+    }
+
+    /**
+     * Retorna a representação serializada de um {@link EntityModel} de {@link Item} para ser incorporada sem
+     * alteração em outra resposta, como uma listagem. Somente é retornada se estiver na mesma versão e com o mesmo link {@code self}
+     *
+     * @param model {@link EntityModel} sendo serializado
+     * @return {@link Optional} do JSON serializado, vazio caso não esteja em cache
+     */
+    public Optional<SerializableString> fragment(EntityModel<?> model) {
+        if (!(model.getContent() instanceof Item)) {
+            return Optional.empty();
+        }
+        final Item item = (Item) model.getContent();
+        final Representation cached = item.getId() == null ? null : cache.asMap().get(item.getId());
+        final Optional<Link> link = model.getLink(IanaLinkRelations.SELF);
+        if (cached == null || !link.isPresent() || !cached.matches(item.getVersion(), link.get().getHref())) {
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached.getJson());
+    }
+
+    /**
+     * Remove a representação de um {@link Item} do cache
+     *
+     * @param id ID de um {@link Item}
+     */
+    public void evict(UUID id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Quantidade de representações reaproveitadas, inclusive em listagens
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Quantidade de representações que precisaram ser montadas e serializadas
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Total de bytes das representações em cache
+     */
+    public long getWeightedSize() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    /**
+     * Quantidade de representações removidas por tamanho
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * Representação HAL JSON serializada de uma versão de um {@link Item}
+     */
+    public static final class Representation {
+
+        private final Long version;
+        private final String self;
+        private final SerializedString json;
+
+        private Representation(Long version, String self, byte[] json) {
+            this.version = version;
+            this.self = self;
+            this.json = new SerializedString(new String(json, StandardCharsets.UTF_8));
+            this.json.asUnquotedUTF8();
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        /**
+         * JSON em UTF-8, codificado uma única vez na criação e mantido pelo {@link SerializedString}
+         *
+         * @return Bytes da representação, que não devem ser alterados
+         */
+        public byte[] getBytes() {
+            return json.asUnquotedUTF8();
+        }
+
+        SerializableString getJson() {
+            return json;
+        }
+
+        private boolean matches(Long version, String self) {
+            return this.version != null && this.version.equals(version) && this.self.equals(self);
+        }
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package br.com.senior.challenge.resources.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializa uma {@link ItemRepresentationCache.Representation} com o mesmo conteúdo HAL em qualquer formato do Jackson.
+ * Geradores JSON recebem os bytes em cache sem alteração, os demais, como Smile e CBOR, recebem a estrutura lida deles
+ */
+public class ItemRepresentationSerializer extends StdSerializer<ItemRepresentationCache.Representation> {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    public ItemRepresentationSerializer() {
+        super(ItemRepresentationCache.Representation.class);
+    }
+
+    @Override
+    public void serialize(ItemRepresentationCache.Representation value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (gen instanceof JsonGeneratorImpl && gen.getPrettyPrinter() == null) {
+            gen.writeRawValue(value.getJson());
+            return;
+        }
+        try (JsonParser parser = JSON.createParser(value.getBytes())) {
+            parser.nextToken();
+            gen.copyCurrentStructure(parser);
+        }
+    }
+
+}
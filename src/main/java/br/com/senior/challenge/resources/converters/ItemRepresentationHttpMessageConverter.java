@@ -0,0 +1,49 @@
+package br.com.senior.challenge.resources.converters;
+
+import br.com.senior.challenge.resources.cache.ItemRepresentationCache;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Escreve a {@link ItemRepresentationCache.Representation} em HAL JSON ou JSON sem serializar novamente, copiando
+ * os bytes em cache para a resposta. Os demais formatos, como Smile e CBOR, são atendidos pelos conversores do Jackson
+ */
+public class ItemRepresentationHttpMessageConverter extends AbstractHttpMessageConverter<ItemRepresentationCache.Representation> {
+
+    public ItemRepresentationHttpMessageConverter() {
+        super(MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ItemRepresentationCache.Representation.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ItemRepresentationCache.Representation readInternal(Class<? extends ItemRepresentationCache.Representation> clazz,
+                                                                  HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("A representação em cache é somente escrita", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(ItemRepresentationCache.Representation representation, MediaType contentType) {
+        return (long) representation.getBytes().length;
+    }
+
+    @Override
+    protected void writeInternal(ItemRepresentationCache.Representation representation, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(representation.getBytes());
+    }
+
+}
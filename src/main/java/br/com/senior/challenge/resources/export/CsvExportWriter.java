@@ -0,0 +1,72 @@
+package br.com.senior.challenge.resources.export;
+
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exportação em CSV (RFC 4180): uma linha por item do pedido, repetindo os campos do pedido.
+ * Pedidos sem itens geram uma linha com os campos do item vazios
+ */
+public class CsvExportWriter implements SalesOrderExportWriter {
+
+    private static final String[] HEADER = {
+            "order_id", "reference", "comments", "status", "discount", "products_amount", "services_amount", "total",
+            "line_id", "item_id", "item_name", "item_type", "quantity", "price", "line_total"
+    };
+
+    private final Writer writer;
+
+    public CsvExportWriter(OutputStream output) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writeRow((Object[]) HEADER);
+    }
+
+    @Override
+    public void write(SalesOrder order, List<SalesOrderItem> itens) throws IOException {
+        for (SalesOrderItem line : itens.isEmpty() ? Collections.<SalesOrderItem>singletonList(null) : itens) {
+            writeRow(order.getId(), order.getReference(), order.getComments(), order.getStatus(), order.getDiscount(),
+                    order.getProductsAmount(), order.getServicesAmount(), order.getTotal(),
+                    line == null ? null : line.getId(),
+                    line == null ? null : line.getItem().getId(),
+                    line == null ? null : line.getItem().getName(),
+                    line == null ? null : line.getItem().getType(),
+                    line == null ? null : line.getQuantity(),
+                    line == null ? null : line.getPrice(),
+                    line == null ? null : line.getTotalAmount());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escape(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
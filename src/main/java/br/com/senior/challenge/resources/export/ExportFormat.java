@@ -0,0 +1,65 @@
+package br.com.senior.challenge.resources.export;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Formatos da exportação de pedidos e da importação de itens
+ */
+public enum ExportFormat {
+
+    NDJSON(MediaType.valueOf("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.valueOf("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Retorna o formato conforme o cabeçalho Accept da requisição. Quando não informado, utiliza {@link #NDJSON}
+     *
+     * @param accept Cabeçalho Accept
+     * @return {@link ExportFormat}
+     */
+    public static ExportFormat of(String accept) {
+        if (accept != null) {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(mediaTypes);
+            for (MediaType mediaType : mediaTypes) {
+                for (ExportFormat format : values()) {
+                    if (mediaType.isConcrete() && format.mediaType.isCompatibleWith(mediaType)) {
+                        return format;
+                    }
+                }
+            }
+        }
+        return NDJSON;
+    }
+
+    /**
+     * Retorna o formato conforme o cabeçalho Content-Type da requisição. Quando não for CSV, utiliza {@link #NDJSON}
+     *
+     * @param contentType Cabeçalho Content-Type
+     * @return {@link ExportFormat}
+     */
+    public static ExportFormat ofContentType(String contentType) {
+        if (contentType != null && CSV.mediaType.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+
+}
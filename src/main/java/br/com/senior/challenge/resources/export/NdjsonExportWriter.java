@@ -0,0 +1,39 @@
+package br.com.senior.challenge.resources.export;
+
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Exportação em NDJSON: um pedido por linha, com seus itens em {@code itens}
+ */
+public class NdjsonExportWriter implements SalesOrderExportWriter {
+
+    private final ObjectMapper mapper;
+    private final JsonGenerator generator;
+
+    public NdjsonExportWriter(ObjectMapper mapper, OutputStream output) throws IOException {
+        this.mapper = mapper;
+        this.generator = mapper.getFactory().createGenerator(output);
+    }
+
+    @Override
+    public void write(SalesOrder order, List<SalesOrderItem> itens) throws IOException {
+        ObjectNode node = mapper.valueToTree(order);
+        node.set("itens", mapper.valueToTree(itens));
+        generator.writeTree(node);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+}
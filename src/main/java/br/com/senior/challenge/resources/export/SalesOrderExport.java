@@ -0,0 +1,110 @@
+package br.com.senior.challenge.resources.export;
+
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.QItem;
+import br.com.senior.challenge.entities.QSalesOrder;
+import br.com.senior.challenge.entities.QSalesOrderItem;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exportação dos pedidos com seus itens. Os registros são lidos por um cursor no banco, agrupados por pedido
+ * e escritos na saída à medida que são lidos, sendo desanexados do contexto de persistência após a escrita.
+ * O consumo de memória é limitado a um pedido por vez, independente da quantidade exportada
+ */
+@Component
+public class SalesOrderExport {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper mapper;
+
+    public SalesOrderExport(EntityManager entityManager, ObjectMapper defaultMapper) {
+        this.entityManager = entityManager;
+        this.mapper = defaultMapper;
+    }
+
+    /**
+     * Exporta os pedidos filtrados, ordenados por ID, no formato informado
+     *
+     * @param predicate Query adicional, a mesma da listagem de pedidos
+     * @param format    {@link ExportFormat}
+     * @param output    Saída onde os pedidos serão escritos
+     * @throws IOException Erro de escrita na saída
+     */
+    @Transactional(readOnly = true)
+    public void export(Predicate predicate, ExportFormat format, OutputStream output) throws IOException {
+        final QSalesOrder order = QSalesOrder.salesOrder;
+        final QSalesOrderItem line = QSalesOrderItem.salesOrderItem;
+
+        final JPAQuery<Tuple> query = new JPAQuery<Tuple>(entityManager)
+                .select(order, line)
+                .from(order)
+                .leftJoin(order.itens, line)
+                .leftJoin(line.item, QItem.item).fetchJoin()
+                .where(predicate)
+                .orderBy(order.id.asc(), line.id.asc());
+
+        @SuppressWarnings("unchecked")
+        final Stream<Object[]> rows = query.createQuery()
+                .setHint(QueryHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+
+        try (rows; SalesOrderExportWriter writer = newWriter(format, output)) {
+            SalesOrder current = null;
+            List<SalesOrderItem> itens = new ArrayList<>();
+            for (Iterator<Object[]> iterator = rows.iterator(); iterator.hasNext(); ) {
+                final Object[] row = iterator.next();
+                final SalesOrder rowOrder = (SalesOrder) row[0];
+                if (current != null && !current.getId().equals(rowOrder.getId())) {
+                    write(writer, current, itens);
+                    itens = new ArrayList<>();
+                }
+                current = rowOrder;
+                if (row[1] != null) {
+                    itens.add((SalesOrderItem) row[1]);
+                }
+            }
+            if (current != null) {
+                write(writer, current, itens);
+            }
+        }
+    }
+
+    private void write(SalesOrderExportWriter writer, SalesOrder order, List<SalesOrderItem> itens) throws IOException {
+        writer.write(order, itens);
+        for (SalesOrderItem item : itens) {
+            detach(item.getItem());
+            entityManager.detach(item);
+        }
+        entityManager.detach(order);
+    }
+
+    private void detach(Item item) {
+        if (entityManager.contains(item)) {
+            entityManager.detach(item);
+        }
+    }
+
+    private SalesOrderExportWriter newWriter(ExportFormat format, OutputStream output) throws IOException {
+        return format == ExportFormat.CSV ? new CsvExportWriter(output) : new NdjsonExportWriter(mapper, output);
+    }
+
+}
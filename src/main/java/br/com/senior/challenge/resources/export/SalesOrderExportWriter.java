@@ -0,0 +1,24 @@
+package br.com.senior.challenge.resources.export;
+
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Escreve os pedidos exportados, um a um, diretamente na saída
+ */
+public interface SalesOrderExportWriter extends Closeable {
+
+    /**
+     * Escreve um pedido com seus itens
+     *
+     * @param order {@link SalesOrder}
+     * @param itens {@link SalesOrderItem} do pedido
+     * @throws IOException Erro de escrita na saída
+     */
+    void write(SalesOrder order, List<SalesOrderItem> itens) throws IOException;
+
+}
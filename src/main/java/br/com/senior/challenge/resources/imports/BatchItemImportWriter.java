@@ -0,0 +1,41 @@
+package br.com.senior.challenge.resources.imports;
+
+import br.com.senior.challenge.entities.Item;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inclusão por JDBC batch, para os bancos sem {@code COPY}. O ID é gravado em binário, como no mapeamento padrão
+ * do Hibernate para {@link UUID} nesses bancos
+ */
+public class BatchItemImportWriter implements ItemImportWriter {
+
+    @Override
+    public void insert(Connection connection, String table, List<Item> itens) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + table + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (Item item : itens) {
+                statement.setBytes(1, toBytes(item.getId()));
+                statement.setString(2, item.getName());
+                statement.setString(3, item.getType().name());
+                statement.setString(4, item.getDescription());
+                statement.setBoolean(5, item.getActive());
+                statement.setLong(6, item.getVersion());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+}
@@ -0,0 +1,40 @@
+package br.com.senior.challenge.resources.imports;
+
+import br.com.senior.challenge.entities.Item;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inclusão para PostgreSQL com {@code COPY ... FROM STDIN}, enviando o lote em uma única operação
+ */
+public class CopyItemImportWriter implements ItemImportWriter {
+
+    @Override
+    public void insert(Connection connection, String table, List<Item> itens) throws SQLException {
+        final StringBuilder rows = new StringBuilder(itens.size() * 192);
+        for (Item item : itens) {
+            rows.append(item.getId()).append(',');
+            quote(rows, item.getName()).append(',');
+            rows.append(item.getType().name()).append(',');
+            quote(rows, item.getDescription()).append(',');
+            rows.append(item.getActive()).append(',');
+            rows.append(item.getVersion()).append('\n');
+        }
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)", new StringReader(rows.toString()));
+        } catch (IOException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    private StringBuilder quote(StringBuilder rows, String value) {
+        return rows.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+}
@@ -0,0 +1,177 @@
+package br.com.senior.challenge.resources.imports;
+
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.exceptions.BusinessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Importação em CSV (RFC 4180). A primeira linha é o cabeçalho, que deve conter as colunas {@code name}, {@code type}
+ * e {@code description} em qualquer ordem. Colunas desconhecidas e linhas em branco são ignoradas
+ */
+public class CsvItemImportReader implements ItemImportReader {
+
+    private static final String NAME = "name";
+    private static final String TYPE = "type";
+    private static final String DESCRIPTION = "description";
+    private static final String[] COLUMNS = {NAME, TYPE, DESCRIPTION};
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int pushback = -2;
+    private int line = 1;
+    private Map<String, Integer> header;
+    private boolean malformed;
+
+    public CsvItemImportReader(InputStream input) {
+        this.reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ItemImportRow next() throws IOException {
+        if (header == null) {
+            readHeader();
+        }
+        List<String> fields;
+        int start;
+        do {
+            start = line;
+            fields = readRecord();
+        } while (fields != null && fields.size() == 1 && fields.get(0).isEmpty() && !malformed);
+        if (fields == null) {
+            return null;
+        }
+        if (malformed || fields.size() < header.size()) {
+            return ItemImportRow.failed(start, new BusinessException(ROW_MALFORMED));
+        }
+
+        final Item item = new Item();
+        item.setName(field(fields, NAME));
+        item.setDescription(field(fields, DESCRIPTION));
+        final String type = field(fields, TYPE);
+        if (type != null) {
+            try {
+                item.setType(ItemType.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return ItemImportRow.failed(start, new BusinessException(FIELD_INVALID, TYPE));
+            }
+        }
+        return ItemImportRow.of(start, item);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        final List<String> fields = readRecord();
+        header = new HashMap<>();
+        for (int i = 0; fields != null && i < fields.size(); i++) {
+            header.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : COLUMNS) {
+            if (!header.containsKey(column)) {
+                throw new BusinessException("import.header.invalid", String.join(", ", COLUMNS));
+            }
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        final String value = fields.get(header.get(column));
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Lê um registro, que pode ocupar mais de uma linha quando um campo entre aspas contém quebras de linha
+     *
+     * @return Campos do registro ou nulo ao final do arquivo
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        malformed = false;
+        final List<String> fields = new ArrayList<>(4);
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        while (true) {
+            if (inQuotes) {
+                if (c < 0) {
+                    malformed = true;
+                    break;
+                }
+                if (c == '"') {
+                    final int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        pushback = next;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\r' || c == '\n' || c < 0) {
+                if (c == '\r') {
+                    final int next = read();
+                    if (next != '\n') {
+                        pushback = next;
+                    }
+                }
+                if (c >= 0) {
+                    line++;
+                }
+                break;
+            } else if (c == '"' && field.length() == 0 && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else {
+                malformed |= quoted || c == '"';
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            final int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+}
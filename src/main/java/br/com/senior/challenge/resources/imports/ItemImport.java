@@ -0,0 +1,194 @@
+package br.com.senior.challenge.resources.imports;
+
+import br.com.senior.challenge.entities.EntityCacheRegions;
+import br.com.senior.challenge.entities.EntityConstraints;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.generators.UuidGeneration;
+import br.com.senior.challenge.entities.generators.UuidStrategy;
+import br.com.senior.challenge.exceptions.BusinessException;
+import br.com.senior.challenge.resources.export.ExportFormat;
+import br.com.senior.challenge.resources.repositories.ItemRepository;
+import br.com.senior.challenge.resources.search.TextSearch;
+import br.com.senior.challenge.resources.uniqueness.UniqueKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Table;
+import javax.sql.DataSource;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importação de itens em lote. Os registros são lidos da entrada à medida que chegam, validados com as mesmas
+ * constraints do cadastro e incluídos em lotes de {@code item.import.batch-size}, cada um na sua transação, com
+ * {@code COPY} no PostgreSQL e JDBC batch nos demais bancos. Registros inválidos ou com nome já existente, no banco ou
+ * no próprio arquivo, são recusados individualmente sem interromper a importação
+ */
+@Component
+public class ItemImport {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String DUPLICATED = "constraint.violation." + EntityConstraints.UK_ITEM_NAME;
+
+    private final ItemRepository repository;
+    private final UniqueKeys uniqueKeys;
+    private final TextSearch textSearch;
+    private final Validator validator;
+    private final ObjectMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache cache;
+    private final ItemImportWriter writer;
+    private final UuidStrategy uuidStrategy;
+    private final String table;
+    private final int batchSize;
+    private final int maxFailures;
+
+    public ItemImport(ItemRepository repository, UniqueKeys uniqueKeys, TextSearch textSearch, Validator validator, ObjectMapper defaultMapper,
+                      DataSource dataSource, PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory,
+                      @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema,
+                      @Value("${item.import.batch-size:2000}") int batchSize,
+                      @Value("${item.import.max-failures:1000}") int maxFailures) throws MetaDataAccessException {
+        this.repository = repository;
+        this.uniqueKeys = uniqueKeys;
+        this.textSearch = textSearch;
+        this.validator = validator;
+        this.mapper = defaultMapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        final String database = JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName");
+        this.writer = POSTGRESQL.equals(database) ? new CopyItemImportWriter() : new BatchItemImportWriter();
+        final UuidGeneration generation = Item.class.getAnnotation(UuidGeneration.class);
+        this.uuidStrategy = generation == null ? UuidStrategy.RANDOM : generation.value();
+        this.table = (schema.isEmpty() ? "" : schema + ".") + Item.class.getAnnotation(Table.class).name();
+        this.batchSize = batchSize;
+        this.maxFailures = maxFailures;
+    }
+
+    /**
+     * Importa os itens da entrada no formato informado
+     *
+     * @param format {@link ExportFormat} da entrada
+     * @param input  Entrada com os itens
+     * @return {@link ItemImportSummary} com as quantidades e os erros de cada registro recusado
+     * @throws IOException Erro de leitura da entrada
+     */
+    public ItemImportSummary importItems(ExportFormat format, InputStream input) throws IOException {
+        final ItemImportSummary summary = new ItemImportSummary(maxFailures);
+        final Set<String> names = new HashSet<>();
+        List<ItemImportRow> batch = new ArrayList<>(batchSize);
+        try (ItemImportReader reader = newReader(format, input)) {
+            ItemImportRow row;
+            while ((row = reader.next()) != null) {
+                summary.read();
+                if (row.getError() != null) {
+                    summary.fail(row.getLine(), row.getError());
+                    continue;
+                }
+                final Set<ConstraintViolation<Item>> violations = validator.validate(row.getItem());
+                if (!violations.isEmpty()) {
+                    summary.fail(row.getLine(), violations);
+                    continue;
+                }
+                if (!names.add(row.getItem().getName())) {
+                    summary.fail(row.getLine(), new BusinessException(DUPLICATED));
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    save(batch, summary);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        save(batch, summary);
+        return summary;
+    }
+
+    /**
+     * Inclui um lote, recusando os nomes já existentes. Somente os nomes presentes no {@link UniqueKeys} são
+     * consultados no banco. Caso um nome seja incluído por outra requisição durante a importação, o lote é repetido
+     * registro a registro para recusar somente o duplicado
+     */
+    private void save(List<ItemImportRow> batch, ItemImportSummary summary) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final List<String> candidates = uniqueKeys.filterItemNames(batch.stream()
+                .map(row -> row.getItem().getName())
+                .collect(Collectors.toList()));
+        final Set<String> existing = candidates.isEmpty() ? Collections.emptySet() : new HashSet<>(repository.findExistingNames(candidates));
+        final List<Item> itens = new ArrayList<>(batch.size());
+        for (ItemImportRow row : batch) {
+            if (existing.contains(row.getItem().getName())) {
+                summary.fail(row.getLine(), new BusinessException(DUPLICATED));
+                continue;
+            }
+            final Item item = row.getItem();
+            item.setId(uuidStrategy.generate());
+            item.setActive(true);
+            item.setVersion(0L);
+            itens.add(item);
+        }
+
+        try {
+            insert(itens);
+            summary.imported(itens.size());
+        } catch (DataIntegrityViolationException e) {
+            for (ItemImportRow row : batch) {
+                if (existing.contains(row.getItem().getName())) {
+                    continue;
+                }
+                try {
+                    insert(Collections.singletonList(row.getItem()));
+                    summary.imported(1);
+                } catch (DataIntegrityViolationException duplicated) {
+                    summary.fail(row.getLine(), new BusinessException(DUPLICATED));
+                }
+            }
+        }
+    }
+
+    /**
+     * Inclui os {@link Item} em uma transação e os adiciona ao índice da busca por texto após o commit. Como a inclusão
+     * não passa pelo Hibernate, o cache da listagem de itens é invalidado
+     */
+    private void insert(List<Item> itens) {
+        if (itens.isEmpty()) {
+            return;
+        }
+        transactionTemplate.execute(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            writer.insert(connection, table, itens);
+            return null;
+        }));
+        cache.evictQueryRegion(EntityCacheRegions.ITEM_LIST);
+        itens.forEach(item -> {
+            uniqueKeys.addItemName(item.getName());
+            textSearch.index(item);
+        });
+    }
+
+    private ItemImportReader newReader(ExportFormat format, InputStream input) {
+        return format == ExportFormat.CSV ? new CsvItemImportReader(input) : new NdjsonItemImportReader(mapper, input);
+    }
+
+}
@@ -0,0 +1,29 @@
+package br.com.senior.challenge.resources.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Leitura sob demanda dos registros de um arquivo de importação de itens
+ */
+public interface ItemImportReader extends Closeable {
+
+    /**
+     * Mensagem para linhas que não puderam ser lidas
+     */
+    String ROW_MALFORMED = "import.row.malformed";
+
+    /**
+     * Mensagem para campos com formato inválido, como um tipo inexistente
+     */
+    String FIELD_INVALID = "import.field.invalid";
+
+    /**
+     * Lê o próximo registro do arquivo. Erros de formato de uma linha são retornados no registro, sem interromper a leitura
+     *
+     * @return {@link ItemImportRow} ou nulo ao final do arquivo
+     * @throws IOException Erro de leitura da entrada
+     */
+    ItemImportRow next() throws IOException;
+
+}
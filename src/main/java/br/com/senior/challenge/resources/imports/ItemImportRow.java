@@ -0,0 +1,45 @@
+package br.com.senior.challenge.resources.imports;
+
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.exceptions.BusinessException;
+import lombok.Getter;
+
+/**
+ * Registro lido de um arquivo de importação: o {@link Item} ou o erro de leitura da linha
+ */
+@Getter
+public class ItemImportRow {
+
+    private final int line;
+    private final Item item;
+    private final BusinessException error;
+
+    private ItemImportRow(int line, Item item, BusinessException error) {
+        this.line = line;
+        this.item = item;
+        this.error = error;
+    }
+
+    /**
+     * Registro lido com sucesso
+     *
+     * @param line Linha do arquivo onde o registro inicia
+     * @param item {@link Item} lido
+     * @return {@link ItemImportRow}
+     */
+    public static ItemImportRow of(int line, Item item) {
+        return new ItemImportRow(line, item, null);
+    }
+
+    /**
+     * Registro que não pôde ser lido
+     *
+     * @param line  Linha do arquivo onde o registro inicia
+     * @param error Erro de leitura
+     * @return {@link ItemImportRow}
+     */
+    public static ItemImportRow failed(int line, BusinessException error) {
+        return new ItemImportRow(line, null, error);
+    }
+
+}
@@ -0,0 +1,63 @@
+package br.com.senior.challenge.resources.imports;
+
+import br.com.senior.challenge.exceptions.BatchValidationException;
+import br.com.senior.challenge.exceptions.BusinessException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.ConstraintViolation;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resultado de uma importação de itens: quantidade de registros lidos, incluídos e recusados, com os erros
+ * de cada registro recusado agrupados pela linha do arquivo. São mantidos os erros dos primeiros registros recusados,
+ * até o limite informado, os demais são somente contados
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportSummary {
+
+    private int read;
+    private int imported;
+    private int failed;
+
+    @JsonIgnore
+    private final BatchValidationException failures = new BatchValidationException();
+
+    @JsonIgnore
+    private final int maxFailures;
+
+    /**
+     * Mensagens dos erros de {@link #getFailures()}, preenchidas na resposta
+     */
+    @Setter
+    private List<?> messages;
+
+    public ItemImportSummary(int maxFailures) {
+        this.maxFailures = maxFailures;
+    }
+
+    void read() {
+        read++;
+    }
+
+    void imported(int count) {
+        imported += count;
+    }
+
+    void fail(int line, BusinessException error) {
+        if (failed++ < maxFailures) {
+            failures.addError(line, error);
+        }
+    }
+
+    void fail(int line, Set<? extends ConstraintViolation<?>> violations) {
+        if (failed++ < maxFailures) {
+            failures.addViolations(line, violations);
+        }
+    }
+
+}
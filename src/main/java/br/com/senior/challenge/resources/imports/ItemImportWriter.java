@@ -0,0 +1,30 @@
+package br.com.senior.challenge.resources.imports;
+
+import br.com.senior.challenge.entities.Item;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inclusão em lote dos {@link Item} importados diretamente na tabela, sem passar pelo contexto de persistência.
+ * Os {@link Item} já devem estar validados e com ID, versão e situação preenchidos
+ */
+public interface ItemImportWriter {
+
+    /**
+     * Colunas incluídas, na ordem dos valores
+     */
+    String COLUMNS = "ID, " + Item.DS_NAME + ", CD_TYPE, DS_DESCRIPTION, FG_ACTIVE, NR_VERSION";
+
+    /**
+     * Inclui os {@link Item} na transação da conexão informada
+     *
+     * @param connection Conexão da transação atual
+     * @param table      Tabela com o schema, quando houver
+     * @param itens      {@link Item} a incluir
+     * @throws SQLException Erro na inclusão, como a violação de {@link br.com.senior.challenge.entities.EntityConstraints#UK_ITEM_NAME}
+     */
+    void insert(Connection connection, String table, List<Item> itens) throws SQLException;
+
+}
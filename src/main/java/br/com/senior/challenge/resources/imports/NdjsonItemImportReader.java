@@ -0,0 +1,54 @@
+package br.com.senior.challenge.resources.imports;
+
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.exceptions.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Importação em NDJSON: um item por linha, com os mesmos campos do cadastro. Linhas em branco são ignoradas
+ */
+public class NdjsonItemImportReader implements ItemImportReader {
+
+    private final ObjectMapper mapper;
+    private final BufferedReader reader;
+    private int line;
+
+    public NdjsonItemImportReader(ObjectMapper mapper, InputStream input) {
+        this.mapper = mapper;
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public ItemImportRow next() throws IOException {
+        String value;
+        do {
+            value = reader.readLine();
+            line++;
+        } while (value != null && value.trim().isEmpty());
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ItemImportRow.of(line, mapper.readValue(value, Item.class));
+        } catch (InvalidFormatException e) {
+            final String field = e.getPath().isEmpty() ? null : e.getPath().get(e.getPath().size() - 1).getFieldName();
+            return ItemImportRow.failed(line, field == null ? new BusinessException(ROW_MALFORMED) : new BusinessException(FIELD_INVALID, field));
+        } catch (JsonProcessingException e) {
+            return ItemImportRow.failed(line, new BusinessException(ROW_MALFORMED));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
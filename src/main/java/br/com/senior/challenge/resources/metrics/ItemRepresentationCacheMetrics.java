@@ -0,0 +1,49 @@
+package br.com.senior.challenge.resources.metrics;
+
+import br.com.senior.challenge.resources.cache.ItemRepresentationCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra os acertos, falhas, remoções e o tamanho em bytes do {@link ItemRepresentationCache}, com os nomes
+ * das métricas de cache do Micrometer e identificado por {@code cache=item-representation}
+ */
+@Component
+public class ItemRepresentationCacheMetrics implements MeterBinder {
+
+    public static final String CACHE_NAME = "item-representation";
+
+    private final ItemRepresentationCache cache;
+
+    public ItemRepresentationCacheMetrics(ItemRepresentationCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cache, ItemRepresentationCache::getHitCount)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "hit")
+                .description("Representações reaproveitadas, inclusive em listagens")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, ItemRepresentationCache::getMissCount)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "miss")
+                .description("Representações que precisaram ser montadas e serializadas")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, ItemRepresentationCache::getEvictionCount)
+                .tag("cache", CACHE_NAME)
+                .description("Representações removidas por tamanho")
+                .register(registry);
+        Gauge.builder("cache.weighted.size", cache, ItemRepresentationCache::getWeightedSize)
+                .tag("cache", CACHE_NAME)
+                .baseUnit(BaseUnits.BYTES)
+                .description("Total de bytes das representações em cache")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,116 @@
+package br.com.senior.challenge.resources.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra o tempo e a quantidade de chamadas aos métodos públicos dos serviços de itens, pedidos e itens do pedido
+ * e dos repositórios. As métricas são identificadas pela classe, método e exceção lançada ({@code none} quando não
+ * houver). Os demais componentes das regras, como o cálculo dos pedidos, são chamados por esses serviços e já estão
+ * contidos no tempo deles. Cada combinação de tags tem o seu {@link Timer} registrado uma única vez
+ */
+@Aspect
+@Component
+public class OperationMetricsAspect {
+
+    public static final String RULES_CALLS = "rules.calls";
+    public static final String REPOSITORY_CALLS = "repository.calls";
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public OperationMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * br.com.senior.challenge.resources.rules.ItemRules.*(..))"
+            + " || execution(public * br.com.senior.challenge.resources.rules.SalesOrderRules.*(..))"
+            + " || execution(public * br.com.senior.challenge.resources.rules.SalesOrderItemRules.*(..))")
+    public Object timeRules(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RULES_CALLS, "class", joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, REPOSITORY_CALLS, "repository", getRepositoryName(joinPoint.getTarget()));
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name, String typeTag, String type) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            final TimerKey key = new TimerKey(name, type, joinPoint.getSignature().getName(), exception);
+            sample.stop(timers.computeIfAbsent(key, k -> Timer.builder(name)
+                    .tag(typeTag, type)
+                    .tag("method", k.method)
+                    .tag("exception", k.exception)
+                    .register(registry)));
+        }
+    }
+
+    /**
+     * Retorna o nome da interface do repositório, e não da implementação genérica do Spring Data
+     */
+    private String getRepositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> Arrays.stream(AopProxyUtils.proxiedUserInterfaces(target))
+                .filter(Repository.class::isAssignableFrom)
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(type.getSimpleName()));
+    }
+
+    /**
+     * Tags que identificam um {@link Timer}, a tag do tipo ({@code class} ou {@code repository}) é definida pelo nome
+     */
+    private static final class TimerKey {
+
+        private final String name;
+        private final String type;
+        private final String method;
+        private final String exception;
+
+        private TimerKey(String name, String type, String method, String exception) {
+            this.name = name;
+            this.type = type;
+            this.method = method;
+            this.exception = exception;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TimerKey)) {
+                return false;
+            }
+            TimerKey other = (TimerKey) o;
+            return name.equals(other.name) && type.equals(other.type)
+                    && method.equals(other.method) && exception.equals(other.exception);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, type, method, exception);
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package br.com.senior.challenge.resources.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Registra a taxa de acertos de cada região do cache de segundo nível do Hibernate, entidades, coleções e consultas,
+ * identificada pela região. As quantidades de acertos e falhas são registradas pelas métricas padrão do Hibernate
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    public static final String HIT_RATIO = "hibernate.second.level.cache.hit.ratio";
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            Gauge.builder(HIT_RATIO, statistics, stats -> hitRatio(stats.getCacheRegionStatistics(region)))
+                    .tag("region", region)
+                    .description("Acertos sobre o total de leituras da região")
+                    .register(registry);
+        }
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) {
+            return Double.NaN;
+        }
+        final long requests = region.getHitCount() + region.getMissCount();
+        return requests == 0 ? 0 : (double) region.getHitCount() / requests;
+    }
+
+}
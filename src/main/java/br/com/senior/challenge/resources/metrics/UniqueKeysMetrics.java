@@ -0,0 +1,32 @@
+package br.com.senior.challenge.resources.metrics;
+
+import br.com.senior.challenge.resources.uniqueness.UniqueKeys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra as confirmações no banco das chaves presentes nos filtros do {@link UniqueKeys} e quantas delas eram
+ * falsos positivos, permitindo acompanhar a taxa real de falsos positivos
+ */
+@Component
+public class UniqueKeysMetrics implements MeterBinder {
+
+    private final UniqueKeys uniqueKeys;
+
+    public UniqueKeysMetrics(UniqueKeys uniqueKeys) {
+        this.uniqueKeys = uniqueKeys;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("uniqueness.confirmations", uniqueKeys, UniqueKeys::getConfirmationCount)
+                .description("Chaves presentes no filtro que precisaram ser confirmadas no banco")
+                .register(registry);
+        FunctionCounter.builder("uniqueness.false.positives", uniqueKeys, UniqueKeys::getFalsePositiveCount)
+                .description("Confirmações em que a chave não existia no banco")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,24 @@
+package br.com.senior.challenge.resources.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página de registros obtida por paginação por cursor (keyset)
+ *
+ * @param <T> Tipo da entidade
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private final List<T> content;
+
+    /**
+     * Cursor para a próxima página, nulo caso esta seja a última
+     */
+    private final String next;
+
+}
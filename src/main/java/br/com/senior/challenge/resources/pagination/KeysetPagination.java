@@ -0,0 +1,200 @@
+package br.com.senior.challenge.resources.pagination;
+
+import br.com.senior.challenge.entities.Identifiable;
+import br.com.senior.challenge.exceptions.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparablePath;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.persistence.EntityManager;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Paginação por cursor (keyset). Em vez de OFFSET, a consulta busca os registros posteriores ao último registro
+ * da página anterior, comparando (chave de ordenação, id). O cursor é opaco para o cliente
+ */
+@Component
+public class KeysetPagination {
+
+    /**
+     * Parâmetro da requisição com o cursor
+     */
+    public static final String PARAM = "after";
+
+    private static final String ID = "id";
+    private static final String CURSOR_INVALID = "page.cursor.invalid";
+    private static final String FETCH_GRAPH = "javax.persistence.fetchgraph";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper mapper;
+
+    public KeysetPagination(EntityManager entityManager, ObjectMapper defaultMapper) {
+        this.entityManager = entityManager;
+        this.mapper = defaultMapper;
+    }
+
+    /**
+     * Retorna a página de registros posterior ao cursor informado.
+     * Caso o cursor seja inválido ou a ordenação não seja suportada será lançado um {@link BusinessException}
+     *
+     * @param root      Raiz Querydsl da entidade
+     * @param predicate Query adicional
+     * @param after     Cursor da página anterior, vazio para a primeira página
+     * @param pageable  Tamanho da página e ordenação. Somente a primeira ordenação é considerada
+     * @param <T>       Tipo da entidade
+     * @return {@link KeysetPage}
+     */
+    public <T extends Identifiable> KeysetPage<T> findAll(EntityPathBase<T> root, Predicate predicate, String after, Pageable pageable) {
+        return findAll(root, null, predicate, after, pageable);
+    }
+
+    /**
+     * Retorna a página de registros posterior ao cursor informado, carregando as associações do grafo informado
+     * na mesma consulta. Caso o cursor seja inválido ou a ordenação não seja suportada será lançado um {@link BusinessException}
+     *
+     * @param root        Raiz Querydsl da entidade
+     * @param entityGraph Nome do {@link javax.persistence.NamedEntityGraph} da entidade, opcional
+     * @param predicate   Query adicional
+     * @param after       Cursor da página anterior, vazio para a primeira página
+     * @param pageable    Tamanho da página e ordenação. Somente a primeira ordenação é considerada
+     * @param <T>         Tipo da entidade
+     * @return {@link KeysetPage}
+     */
+    public <T extends Identifiable> KeysetPage<T> findAll(EntityPathBase<T> root, String entityGraph, Predicate predicate, String after, Pageable pageable) {
+        final PathBuilder<T> path = new PathBuilder<>(root.getType(), root.getMetadata());
+        final ComparablePath<UUID> id = path.getComparable(ID, UUID.class);
+        final Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc(ID));
+        final Order direction = order.isAscending() ? Order.ASC : Order.DESC;
+        final ComparablePath<Comparable> key = path.getComparable(order.getProperty(), Comparable.class);
+        final Class<?> keyType = getPropertyType(root.getType(), order.getProperty());
+
+        final JPAQuery<T> query = new JPAQuery<T>(entityManager).select(root).from(root).where(predicate);
+        if (entityGraph != null) {
+            query.setHint(FETCH_GRAPH, entityManager.getEntityGraph(entityGraph));
+        }
+        if (after != null && !after.isEmpty()) {
+            final ObjectNode cursor = decode(after);
+            final UUID lastId = mapper.convertValue(cursor.get(ID), UUID.class);
+            final Comparable lastKey = (Comparable) mapper.convertValue(cursor.get("key"), keyType);
+            if (lastId == null) {
+                throw new BusinessException(CURSOR_INVALID);
+            }
+            query.where(ID.equals(order.getProperty()) ? seek(id, lastId, direction) : seek(key, lastKey, id, lastId, direction));
+        }
+        if (ID.equals(order.getProperty())) {
+            query.orderBy(new OrderSpecifier<>(direction, id));
+        } else {
+            query.orderBy(new OrderSpecifier<>(direction, key, OrderSpecifier.NullHandling.NullsLast), id.asc());
+        }
+
+        final List<T> content = new ArrayList<>(query.limit(pageable.getPageSize() + 1L).fetch());
+        String next = null;
+        if (content.size() > pageable.getPageSize()) {
+            content.remove(content.size() - 1);
+            final T last = content.get(content.size() - 1);
+            next = encode(last.getId(), ID.equals(order.getProperty()) ? null : getPropertyValue(last, order.getProperty()));
+        }
+        return new KeysetPage<>(content, next);
+    }
+
+    /**
+     * Converte uma {@link KeysetPage} em {@link PagedModel}, com link para a próxima página contendo o cursor
+     *
+     * @param page      {@link KeysetPage}
+     * @param assembler Assembler das entidades
+     * @param <T>       Tipo da entidade
+     * @return {@link PagedModel} sem metadados de total, que não são calculados na paginação por cursor
+     */
+    public <T> PagedModel<EntityModel<T>> toModel(KeysetPage<T> page, RepresentationModelAssembler<T, EntityModel<T>> assembler) {
+        final List<EntityModel<T>> content = page.getContent().stream().map(assembler::toModel).collect(Collectors.toList());
+        final ServletUriComponentsBuilder request = ServletUriComponentsBuilder.fromCurrentRequest();
+        final PagedModel<EntityModel<T>> model = new PagedModel<>(content, null, new Link(request.build(true).toUriString()));
+        if (page.getNext() != null) {
+            model.add(new Link(request.replaceQueryParam(PARAM, page.getNext()).build(true).toUriString(), IanaLinkRelations.NEXT));
+        }
+        return model;
+    }
+
+    /**
+     * Gera o cursor para os registros posteriores ao ID informado, na ordenação padrão por ID
+     *
+     * @param lastId ID do último registro já retornado
+     * @return Cursor para o parâmetro {@link #PARAM}
+     */
+    public String after(UUID lastId) {
+        return encode(lastId, null);
+    }
+
+    private BooleanExpression seek(ComparablePath<UUID> id, UUID lastId, Order direction) {
+        return direction == Order.ASC ? id.gt(lastId) : id.lt(lastId);
+    }
+
+    private BooleanExpression seek(ComparablePath<Comparable> key, Comparable lastKey, ComparablePath<UUID> id, UUID lastId, Order direction) {
+        if (lastKey == null) {
+            return key.isNull().and(id.gt(lastId));
+        }
+        final BooleanExpression afterKey = direction == Order.ASC ? key.gt(lastKey) : key.lt(lastKey);
+        return afterKey.or(key.eq(lastKey).and(id.gt(lastId))).or(key.isNull());
+    }
+
+    private String encode(UUID id, Object key) {
+        final ObjectNode cursor = mapper.createObjectNode();
+        cursor.putPOJO(ID, id);
+        cursor.putPOJO("key", key);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mapper.writeValueAsBytes(cursor));
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível gerar o cursor", e);
+        }
+    }
+
+    private ObjectNode decode(String after) {
+        try {
+            final byte[] json = Base64.getUrlDecoder().decode(after.getBytes(StandardCharsets.US_ASCII));
+            return (ObjectNode) mapper.readTree(json);
+        } catch (IllegalArgumentException | ClassCastException | IOException e) {
+            throw new BusinessException(CURSOR_INVALID);
+        }
+    }
+
+    private Class<?> getPropertyType(Class<?> type, String property) {
+        final PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, property);
+        if (descriptor == null || !Comparable.class.isAssignableFrom(descriptor.getPropertyType())) {
+            throw new BusinessException(CURSOR_INVALID);
+        }
+        return descriptor.getPropertyType();
+    }
+
+    private Object getPropertyValue(Object entity, String property) {
+        try {
+            return BeanUtils.getPropertyDescriptor(entity.getClass(), property).getReadMethod().invoke(entity);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível ler a propriedade " + property, e);
+        }
+    }
+
+}
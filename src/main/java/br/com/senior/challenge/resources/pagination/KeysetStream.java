@@ -0,0 +1,88 @@
+package br.com.senior.challenge.resources.pagination;
+
+import br.com.senior.challenge.config.ReactiveConfig;
+import br.com.senior.challenge.controllers.utils.ControllerUtils;
+import br.com.senior.challenge.entities.Identifiable;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.hateoas.server.mvc.RepresentationModelProcessorInvoker;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador reativo da {@link KeysetPagination}. Os registros são lidos página a página, somente quando o cliente
+ * solicitar mais registros (backpressure), com no máximo uma página lida à frente do que já foi consumido.
+ * As consultas executam no {@link ReactiveConfig#JDBC_SCHEDULER}, liberando a thread da requisição.
+ * Os {@link org.springframework.hateoas.server.RepresentationModelProcessor} são aplicados a cada registro,
+ * já que o Spring HATEOAS somente os aplica ao retorno completo do Controller
+ */
+@Component
+public class KeysetStream {
+
+    private final KeysetPagination keysetPagination;
+    private final RepresentationModelProcessorInvoker processorInvoker;
+    private final Scheduler scheduler;
+
+    public KeysetStream(KeysetPagination keysetPagination, RepresentationModelProcessorInvoker processorInvoker,
+                        @Qualifier(ReactiveConfig.JDBC_SCHEDULER) Scheduler scheduler) {
+        this.keysetPagination = keysetPagination;
+        this.processorInvoker = processorInvoker;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Transmite os registros posteriores ao cursor informado, até o último registro ou o cancelamento pelo cliente
+     *
+     * @param root        Raiz Querydsl da entidade
+     * @param entityGraph Nome do {@link javax.persistence.NamedEntityGraph} da entidade, opcional
+     * @param predicate   Query adicional
+     * @param after       Cursor inicial, vazio ou nulo para iniciar do primeiro registro
+     * @param pageable    Tamanho de cada leitura e ordenação. Somente a primeira ordenação é considerada
+     * @param assembler   Assembler das entidades, executado junto da leitura da página
+     * @param <T>         Tipo da entidade
+     * @return {@link Flux} de uma representação {@link EntityModel} dos registros
+     */
+    public <T extends Identifiable> Flux<EntityModel<T>> stream(EntityPathBase<T> root, String entityGraph, Predicate predicate, String after,
+                                                                     Pageable pageable, RepresentationModelAssembler<T, EntityModel<T>> assembler) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        final ResolvableType type = ResolvableType.forClassWithGenerics(EntityModel.class, root.getType());
+        final Function<T, EntityModel<T>> mapper = entity -> processorInvoker.invokeProcessorsFor(assembler.toModel(entity), type);
+        return fetch(root, entityGraph, predicate, after, pageable, mapper, attributes)
+                .expand(page -> page.getNext() == null
+                        ? Mono.empty()
+                        : fetch(root, entityGraph, predicate, page.getNext(), pageable, mapper, attributes))
+                .flatMapIterable(KeysetPage::getContent, 1);
+    }
+
+    /**
+     * Lê uma página no scheduler JDBC. Os atributos da requisição são propagados para que os links sejam gerados
+     * a partir da requisição original
+     */
+    private <T extends Identifiable, R> Mono<KeysetPage<R>> fetch(EntityPathBase<T> root, String entityGraph, Predicate predicate, String after,
+                                                                      Pageable pageable, Function<T, R> mapper, RequestAttributes attributes) {
+        return Mono.fromCallable(() -> {
+            RequestContextHolder.setRequestAttributes(ControllerUtils.copyOf(attributes));
+            try {
+                final KeysetPage<T> page = keysetPagination.findAll(root, entityGraph, predicate, after, pageable);
+                final List<R> content = page.getContent().stream().map(mapper).collect(Collectors.toList());
+                return new KeysetPage<>(content, page.getNext());
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }).subscribeOn(scheduler);
+    }
+
+}
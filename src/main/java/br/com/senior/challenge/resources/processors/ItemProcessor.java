@@ -1,15 +1,17 @@
 package br.com.senior.challenge.resources.processors;
 
 import br.com.senior.challenge.controllers.ItemController;
+import br.com.senior.challenge.controllers.utils.LinkTemplate;
 import br.com.senior.challenge.entities.Item;
 import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.stereotype.Component;
 
-import static br.com.senior.challenge.controllers.utils.ControllerUtils.applyBasePath;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static br.com.senior.challenge.controllers.utils.LinkTemplate.argument;
+import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.on;
 
 /**
  * Adiciona links na representação de um item
@@ -17,36 +19,31 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class ItemProcessor implements RepresentationModelProcessor<EntityModel<Item>> {
 
-    private final RepositoryRestConfiguration configuration;
+    private final LinkTemplate self;
+    private final LinkTemplate deactivate;
+    private final LinkTemplate activate;
 
     public ItemProcessor(RepositoryRestConfiguration configuration) {
-        this.configuration = configuration;
+        String basePath = configuration.getBasePath().toString();
+
+        this.self = LinkTemplate.of(on(ItemController.class).findById(argument(0), null), basePath, IanaLinkRelations.SELF);
+        this.deactivate = LinkTemplate.of(on(ItemController.class).deactivate(argument(0)), basePath, LinkRelation.of("deactivate"));
+        this.activate = LinkTemplate.of(on(ItemController.class).activate(argument(0)), basePath, LinkRelation.of("activate"));
     }
 
     @Override
     public EntityModel<Item> process(EntityModel<Item> model) {
-        ItemController controller = methodOn(ItemController.class);
-        String basePath = configuration.getBasePath().toString();
-
         final Item content = model.getContent();
 
         if (content != null) {
-            model.add(applyBasePath(
-                    linkTo(controller.findById(content.getId())).withSelfRel(),
-                    basePath));
+            model.add(self.expand(content.getId()));
 
             if (content.getActive().equals(Boolean.TRUE)) {
-                model.add(applyBasePath( //
-                        linkTo(controller.deactivate(content.getId()))
-                                .withRel("deactivate"),
-                        basePath));
+                model.add(deactivate.expand(content.getId()));
             }
 
             if (content.getActive().equals(Boolean.FALSE)) {
-                model.add(applyBasePath( //
-                        linkTo(controller.activate(content.getId()))
-                                .withRel("activate"),
-                        basePath));
+                model.add(activate.expand(content.getId()));
             }
         }
 
@@ -3,16 +3,18 @@ package br.com.senior.challenge.resources.processors;
 import br.com.senior.challenge.controllers.ItemController;
 import br.com.senior.challenge.controllers.SalesOrderController;
 import br.com.senior.challenge.controllers.SalesOrderItemController;
+import br.com.senior.challenge.controllers.utils.LinkTemplate;
 import br.com.senior.challenge.entities.SalesOrder;
 import br.com.senior.challenge.entities.SalesOrderItem;
 import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.stereotype.Component;
 
-import static br.com.senior.challenge.controllers.utils.ControllerUtils.applyBasePath;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static br.com.senior.challenge.controllers.utils.LinkTemplate.argument;
+import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.on;
 
 /**
  * Adiciona links na representação de um item do pedido
@@ -20,30 +22,27 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class SalesOrderItemProcessor implements RepresentationModelProcessor<EntityModel<SalesOrderItem>> {
 
-    private final RepositoryRestConfiguration configuration;
+    private final LinkTemplate self;
+    private final LinkTemplate item;
+    private final LinkTemplate order;
 
     public SalesOrderItemProcessor(RepositoryRestConfiguration configuration) {
-        this.configuration = configuration;
+        String basePath = configuration.getBasePath().toString();
+
+        this.self = LinkTemplate.of(on(SalesOrderItemController.class).findByOrderIdAndId(argument(0), argument(1)), basePath, IanaLinkRelations.SELF);
+        this.item = LinkTemplate.of(on(ItemController.class).findById(argument(0), null), basePath, LinkRelation.of("item"));
+        this.order = LinkTemplate.of(on(SalesOrderController.class).findById(argument(0), null), basePath, LinkRelation.of("sales-order"));
     }
 
     @Override
     public EntityModel<SalesOrderItem> process(EntityModel<SalesOrderItem> model) {
         final SalesOrderItem content = model.getContent();
-        String basePath = configuration.getBasePath().toString();
 
         if (content != null) {
-            final SalesOrder order = content.getOrder();
-            model.add(applyBasePath(
-                    linkTo(methodOn(SalesOrderItemController.class).findByOrderIdAndId(order.getId(), content.getId())).withSelfRel(),
-                    basePath));
-
-            model.add(applyBasePath(
-                    linkTo(methodOn(ItemController.class).findById(content.getItem().getId())).withRel("item"),
-                    basePath));
-
-            model.add(applyBasePath(
-                    linkTo(methodOn(SalesOrderController.class).findById(order.getId())).withRel("sales-order"),
-                    basePath));
+            final SalesOrder salesOrder = content.getOrder();
+            model.add(self.expand(salesOrder.getId(), content.getId()));
+            model.add(item.expand(content.getItem().getId()));
+            model.add(order.expand(salesOrder.getId()));
         }
 
         return model;
@@ -2,18 +2,23 @@ package br.com.senior.challenge.resources.processors;
 
 import br.com.senior.challenge.controllers.SalesOrderController;
 import br.com.senior.challenge.controllers.SalesOrderItemController;
+import br.com.senior.challenge.controllers.utils.LinkTemplate;
 import br.com.senior.challenge.entities.SalesOrder;
 import br.com.senior.challenge.entities.enums.OrderStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.RepresentationModel;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.stereotype.Component;
 
-import static br.com.senior.challenge.controllers.utils.ControllerUtils.applyBasePath;
+import java.util.UUID;
+
+import static br.com.senior.challenge.controllers.utils.LinkTemplate.argument;
 import static br.com.senior.challenge.entities.enums.OrderStatus.isValid;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.on;
 
 /**
  * Adiciona links na representação de um pedido
@@ -21,43 +26,48 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class SalesOrderProcessor implements RepresentationModelProcessor<EntityModel<SalesOrder>> {
 
-    private final RepositoryRestConfiguration configuration;
+    private final LinkTemplate self;
+    private final LinkTemplate itens;
+    private final LinkTemplate fulfill;
+    private final LinkTemplate cancel;
 
     public SalesOrderProcessor(final RepositoryRestConfiguration configuration) {
-        this.configuration = configuration;
+        String basePath = configuration.getBasePath().toString();
+
+        this.self = LinkTemplate.of(on(SalesOrderController.class).findById(argument(0), null), basePath, IanaLinkRelations.SELF);
+        this.itens = LinkTemplate.of(on(SalesOrderItemController.class).findByOrderId(argument(0), null, Pageable.unpaged(), null), basePath, LinkRelation.of("itens"));
+        this.fulfill = LinkTemplate.of(on(SalesOrderController.class).fulfill(argument(0)), basePath, LinkRelation.of("fullfill"));
+        this.cancel = LinkTemplate.of(on(SalesOrderController.class).cancel(argument(0)), basePath, LinkRelation.of("cancel"));
     }
 
     @Override
     public EntityModel<SalesOrder> process(EntityModel<SalesOrder> model) {
-        SalesOrderController controller = methodOn(SalesOrderController.class);
-        String basePath = configuration.getBasePath().toString();
-
         final SalesOrder content = model.getContent();
 
         if (content != null) {
-            model.add(applyBasePath(
-                    linkTo(controller.findById(content.getId())).withSelfRel(),
-                    basePath));
-
-            model.add(applyBasePath(
-                    linkTo(methodOn(SalesOrderItemController.class).findByOrderId(content.getId(), null, Pageable.unpaged())).withRel("itens"),
-                    basePath));
-
-            if (isValid(content.getStatus(), OrderStatus.FULLFILLED)) {
-                model.add(applyBasePath( //
-                        linkTo(controller.fulfill(content.getId()))
-                                .withRel("fullfill"),
-                        basePath));
-            }
-
-            if (isValid(content.getStatus(), OrderStatus.CANCELED)) {
-                model.add(applyBasePath( //
-                        linkTo(controller.cancel(content.getId()))
-                                .withRel("cancel"),
-                        basePath));
-            }
+            addLinks(model, content.getId(), content.getStatus());
         }
 
         return model;
     }
+
+    /**
+     * Adiciona os links de um pedido, conforme seu status, a uma representação do pedido
+     *
+     * @param model  Representação do pedido
+     * @param id     ID do pedido
+     * @param status {@link OrderStatus} do pedido
+     */
+    void addLinks(RepresentationModel<?> model, UUID id, OrderStatus status) {
+        model.add(self.expand(id));
+        model.add(itens.expand(id));
+
+        if (isValid(status, OrderStatus.FULLFILLED)) {
+            model.add(fulfill.expand(id));
+        }
+
+        if (isValid(status, OrderStatus.CANCELED)) {
+            model.add(cancel.expand(id));
+        }
+    }
 }
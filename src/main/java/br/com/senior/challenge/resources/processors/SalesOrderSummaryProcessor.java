@@ -0,0 +1,30 @@
+package br.com.senior.challenge.resources.processors;
+
+import br.com.senior.challenge.entities.SalesOrderSummary;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.server.RepresentationModelProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adiciona na representação do resumo de um pedido os mesmos links do pedido
+ */
+@Component
+public class SalesOrderSummaryProcessor implements RepresentationModelProcessor<EntityModel<SalesOrderSummary>> {
+
+    private final SalesOrderProcessor orderProcessor;
+
+    public SalesOrderSummaryProcessor(SalesOrderProcessor orderProcessor) {
+        this.orderProcessor = orderProcessor;
+    }
+
+    @Override
+    public EntityModel<SalesOrderSummary> process(EntityModel<SalesOrderSummary> model) {
+        final SalesOrderSummary content = model.getContent();
+
+        if (content != null) {
+            orderProcessor.addLinks(model, content.getId(), content.getStatus());
+        }
+
+        return model;
+    }
+}
@@ -1,30 +1,64 @@
 package br.com.senior.challenge.resources.repositories;
 
+import br.com.senior.challenge.entities.EntityCacheRegions;
 import br.com.senior.challenge.entities.Item;
-import br.com.senior.challenge.entities.QItem;
 import br.com.senior.challenge.resources.repositories.projections.ItemProjection;
-import com.querydsl.core.types.dsl.StringExpression;
-import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
-import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
-import org.springframework.data.querydsl.binding.QuerydslBindings;
-import org.springframework.data.querydsl.binding.SingleValueBinding;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RepositoryRestResource(collectionResourceRel = "itens", path = "item", excerptProjection = ItemProjection.class, exported = false)
 public interface ItemRepository extends
         CrudRepository<Item, UUID>,
         PagingAndSortingRepository<Item, UUID>,
-        QuerydslPredicateExecutor<Item>,
-        QuerydslBinderCustomizer<QItem> {
+        QuerydslPredicateExecutor<Item> {
 
+    /**
+     * Listagem paginada dos itens, com a página e a contagem no cache de consultas. O cache é invalidado a cada
+     * alteração de item salva pelo Hibernate
+     */
     @Override
-    default void customize(QuerydslBindings bindings, QItem item) {
-        bindings.bind(String.class).first((SingleValueBinding<StringPath, String>) StringExpression::containsIgnoreCase);
-    }
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_REGION, value = EntityCacheRegions.ITEM_LIST)
+    })
+    Page<Item> findAll(Predicate predicate, Pageable pageable);
+
+    /**
+     * Busca somente a versão do item, sem carregá-lo
+     */
+    @Query("select i.version from Item i where i.id = ?1")
+    Optional<Long> findVersionById(UUID id);
+
+    /**
+     * Busca, entre os nomes informados, os que já estão cadastrados
+     */
+    @Query("select i.name from Item i where i.name in ?1")
+    List<String> findExistingNames(Collection<String> names);
+
+    /**
+     * Verifica se existe um item com o nome informado
+     */
+    boolean existsByName(String name);
+
+    /**
+     * Percorre os nomes de todos os itens por um cursor no banco. Deve ser consumido dentro de uma transação
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select i.name from Item i")
+    Stream<String> streamAllNames();
 
 }
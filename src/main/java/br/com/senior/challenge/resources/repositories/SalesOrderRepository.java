@@ -1,30 +1,64 @@
 package br.com.senior.challenge.resources.repositories;
 
-import br.com.senior.challenge.entities.QSalesOrder;
 import br.com.senior.challenge.entities.SalesOrder;
 import br.com.senior.challenge.resources.repositories.projections.SalesOrderListProjection;
-import com.querydsl.core.types.dsl.StringExpression;
-import com.querydsl.core.types.dsl.StringPath;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
-import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
-import org.springframework.data.querydsl.binding.QuerydslBindings;
-import org.springframework.data.querydsl.binding.SingleValueBinding;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RepositoryRestResource(collectionResourceRel = "sales-order", path = "sales-order", excerptProjection = SalesOrderListProjection.class, exported = false)
 public interface SalesOrderRepository extends
         CrudRepository<SalesOrder, UUID>,
         PagingAndSortingRepository<SalesOrder, UUID>,
-        QuerydslPredicateExecutor<SalesOrder>,
-        QuerydslBinderCustomizer<QSalesOrder> {
+        QuerydslPredicateExecutor<SalesOrder> {
 
-    @Override
-    default void customize(QuerydslBindings bindings, QSalesOrder order) {
-        bindings.bind(String.class).first((SingleValueBinding<StringPath, String>) StringExpression::containsIgnoreCase);
-    }
+    /**
+     * Busca o pedido bloqueando o registro até o fim da transação, impedindo alterações concorrentes
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<SalesOrder> findLockedById(UUID id);
+
+    /**
+     * Busca somente a versão do pedido, sem carregá-lo
+     */
+    @Query("select o.version from SalesOrder o where o.id = ?1")
+    Optional<Long> findVersionById(UUID id);
+
+    /**
+     * Verifica se existe um pedido com a referência informada
+     */
+    boolean existsByReference(String reference);
+
+    /**
+     * Percorre as referências de todos os pedidos por um cursor no banco. Deve ser consumido dentro de uma transação
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select o.reference from SalesOrder o")
+    Stream<String> streamAllReferences();
+
+    /**
+     * Busca o pedido com suas linhas e os respectivos itens em uma única consulta, com as linhas ordenadas por ID.
+     * Cada registro contém o pedido e uma linha, nula quando o pedido não possui linhas
+     */
+    @Query("select o, i from SalesOrder o left join o.itens i left join fetch i.item where o.id = ?1 order by i.id")
+    List<Object[]> findWithItensById(UUID id, Pageable pageable);
+
+    /**
+     * Busca os pedidos que ainda não possuem {@link br.com.senior.challenge.entities.SalesOrderSummary}
+     */
+    @Query("select o from SalesOrder o where not exists (select s.id from SalesOrderSummary s where s.id = o.id)")
+    List<SalesOrder> findWithoutSummary(Pageable pageable);
 
 }
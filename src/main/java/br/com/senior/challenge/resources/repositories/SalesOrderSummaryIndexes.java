@@ -0,0 +1,71 @@
+package br.com.senior.challenge.resources.repositories;
+
+import br.com.senior.challenge.entities.SalesOrderSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Torna cobertos, no PostgreSQL, os índices declarados em {@link SalesOrderSummary}: cada índice é recriado com o
+ * mesmo nome e as colunas da listagem em {@code INCLUDE}, permitindo que a listagem seja atendida somente pelo índice.
+ * O {@code hbm2ddl} encontra o índice pelo nome e não o altera. Nos demais bancos permanecem os índices do JPA.
+ * <p>
+ * Sempre criado na inicialização, mesmo com {@code spring.main.lazy-initialization}, antes da primeira listagem
+ */
+@Component
+@Lazy(false)
+public class SalesOrderSummaryIndexes {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SalesOrderSummaryIndexes.class);
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final List<String> INCLUDED = Arrays.asList(
+            "VL_DISCOUNT", "VL_TOTAL", "VL_PRODUCTS", "VL_SERVICES", "QT_LINES", "CD_STATUS", "DS_REF");
+
+    /**
+     * @param entityManagerFactory Somente para que os índices sejam alterados após a atualização do esquema pelo Hibernate
+     */
+    public SalesOrderSummaryIndexes(DataSource dataSource, EntityManagerFactory entityManagerFactory,
+                                    @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema) throws MetaDataAccessException {
+        if (!POSTGRESQL.equals(JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName"))) {
+            return;
+        }
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        final String prefix = schema == null || schema.isEmpty() ? "" : schema + ".";
+        final Table table = SalesOrderSummary.class.getAnnotation(Table.class);
+        try {
+            for (Index index : table.indexes()) {
+                final List<String> keys = Arrays.stream(index.columnList().split(","))
+                        .map(String::trim)
+                        .collect(Collectors.toList());
+                final Integer covering = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_indexes"
+                                + " WHERE schemaname = coalesce(nullif(?, ''), current_schema())"
+                                + " AND indexname = lower(?) AND indexdef LIKE '% INCLUDE %'",
+                        Integer.class, schema, index.name());
+                if (covering != null && covering > 0) {
+                    continue;
+                }
+                final String included = INCLUDED.stream().filter(column -> !keys.contains(column)).collect(Collectors.joining(", "));
+                jdbcTemplate.execute("DROP INDEX IF EXISTS " + prefix + index.name());
+                jdbcTemplate.execute("CREATE INDEX " + index.name() + " ON " + prefix + table.name()
+                        + " (" + String.join(", ", keys) + ") INCLUDE (" + included + ")");
+            }
+        } catch (DataAccessException e) {
+            LOGGER.warn("Não foi possível criar os índices cobertos do resumo dos pedidos, serão mantidos os índices do JPA", e);
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package br.com.senior.challenge.resources.repositories;
+
+import br.com.senior.challenge.entities.SalesOrderSummary;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import java.util.UUID;
+
+@RepositoryRestResource(collectionResourceRel = "sales-order", path = "sales-order-summary", exported = false)
+public interface SalesOrderSummaryRepository extends
+        CrudRepository<SalesOrderSummary, UUID>,
+        PagingAndSortingRepository<SalesOrderSummary, UUID>,
+        QuerydslPredicateExecutor<SalesOrderSummary> {
+
+    /**
+     * Conta os itens de um pedido pelo índice de itens por pedido, sem carregá-los
+     */
+    @Query("select count(i) from SalesOrderItem i where i.order.id = ?1")
+    long countLines(UUID orderId);
+
+}
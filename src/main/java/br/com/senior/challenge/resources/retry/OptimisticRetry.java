@@ -0,0 +1,97 @@
+package br.com.senior.challenge.resources.retry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Executa uma alteração em uma transação, repetindo-a enquanto houver conflito com uma alteração concorrente,
+ * detectado pela versão ({@link javax.persistence.Version}) ou por bloqueio do registro.
+ * Cada tentativa ocorre em uma nova transação, portanto a alteração deve reler os registros que irá alterar e
+ * reaplicar sobre eles a sua diferença. As repetições são otimistas, separadas por uma espera aleatória e crescente.
+ * Somente a última tentativa é informada à alteração, para que bloqueie o registro disputado na leitura e não volte
+ * a conflitar. Esgotadas as tentativas o {@link ConcurrencyFailureException} é propagado
+ */
+@Component
+public class OptimisticRetry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoff;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager,
+                           @Value("${retry.optimistic.max-attempts:5}") int maxAttempts,
+                           @Value("${retry.optimistic.backoff:5ms}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff.toMillis();
+    }
+
+    /**
+     * Executa a alteração em uma transação, repetindo em caso de conflito com uma alteração concorrente.
+     * Caso já exista uma transação ativa a alteração participa dela sem repetição, cabendo a quem a iniciou repetir
+     *
+     * @param change Alteração a ser executada
+     * @param <T>    Tipo do retorno
+     * @return Retorno da alteração
+     */
+    public <T> T execute(Change<T> change) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return change.apply(false);
+        }
+        for (int attempt = 1; ; attempt++) {
+            final boolean lastAttempt = attempt > 1 && attempt == maxAttempts;
+            try {
+                return transactionTemplate.execute(status -> change.apply(lastAttempt));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                LOGGER.debug("Conflito na tentativa {} de {}: {}", attempt, maxAttempts, e.getMessage());
+                sleep(attempt);
+            }
+        }
+    }
+
+    /**
+     * Aguarda um tempo aleatório, crescente a cada tentativa, para que as alterações concorrentes não colidam novamente
+     */
+    private void sleep(int attempt) {
+        long limit = backoff << Math.min(attempt - 1, 6);
+        if (limit <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(limit + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Alteração executada a cada tentativa
+     *
+     * @param <T> Tipo do retorno
+     */
+    @FunctionalInterface
+    public interface Change<T> {
+
+        /**
+         * @param lastAttempt Verdadeiro na última repetição, quando os registros disputados devem ser lidos com bloqueio
+         * @return Retorno da alteração
+         */
+        T apply(boolean lastAttempt);
+    }
+
+}
@@ -1,17 +1,37 @@
 package br.com.senior.challenge.resources.rules;
 
 import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.QItem;
 import br.com.senior.challenge.exceptions.BusinessException;
+import br.com.senior.challenge.exceptions.ConflictException;
 import br.com.senior.challenge.exceptions.NotFoundException;
+import br.com.senior.challenge.exceptions.PreconditionFailedException;
 import br.com.senior.challenge.resources.assembler.ItemResourceAssembler;
+import br.com.senior.challenge.resources.cache.ItemRepresentationCache;
+import br.com.senior.challenge.resources.export.ExportFormat;
+import br.com.senior.challenge.resources.imports.ItemImport;
+import br.com.senior.challenge.resources.imports.ItemImportSummary;
+import br.com.senior.challenge.resources.pagination.KeysetPagination;
+import br.com.senior.challenge.resources.pagination.KeysetStream;
 import br.com.senior.challenge.resources.repositories.ItemRepository;
+import br.com.senior.challenge.resources.uniqueness.UniqueKeys;
 import com.querydsl.core.types.Predicate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -23,11 +43,23 @@ public class ItemRules {
     private final ItemRepository repository;
     private final ItemResourceAssembler assembler;
     private final PagedResourcesAssembler<Item> pagedAssembler;
+    private final KeysetPagination keysetPagination;
+    private final KeysetStream keysetStream;
+    private final Cache cache;
+    private final ItemRepresentationCache representations;
+    private final ItemImport itemImport;
+    private final UniqueKeys uniqueKeys;
 
-    public ItemRules(ItemRepository repository, ItemResourceAssembler assembler, PagedResourcesAssembler<Item> pagedAssembler) {
+    public ItemRules(ItemRepository repository, ItemResourceAssembler assembler, PagedResourcesAssembler<Item> pagedAssembler, KeysetPagination keysetPagination, KeysetStream keysetStream, EntityManagerFactory entityManagerFactory, ItemRepresentationCache representations, ItemImport itemImport, UniqueKeys uniqueKeys) {
         this.repository = repository;
         this.assembler = assembler;
         this.pagedAssembler = pagedAssembler;
+        this.keysetPagination = keysetPagination;
+        this.keysetStream = keysetStream;
+        this.cache = entityManagerFactory.getCache();
+        this.representations = representations;
+        this.itemImport = itemImport;
+        this.uniqueKeys = uniqueKeys;
     }
 
     /**
@@ -41,6 +73,30 @@ public class ItemRules {
         return pagedAssembler.toModel(repository.findAll(predicate, pageable));
     }
 
+    /**
+     * Retorna uma lista paginada por cursor {@link PagedModel} de uma representação {@link EntityModel} de {@link Item}
+     *
+     * @param predicate Query adicional
+     * @param after     Cursor da página anterior, vazio para a primeira página
+     * @param pageable  Tamanho da página e ordenação
+     * @return {@link PagedModel} de uma representação {@link EntityModel} de um {@link Item}
+     */
+    public PagedModel<EntityModel<Item>> findAllAfter(Predicate predicate, String after, Pageable pageable) {
+        return keysetPagination.toModel(keysetPagination.findAll(QItem.item, predicate, after, pageable), assembler);
+    }
+
+    /**
+     * Transmite sob demanda uma representação {@link EntityModel} de cada {@link Item}
+     *
+     * @param predicate Query adicional
+     * @param after     Cursor inicial, opcional
+     * @param pageable  Tamanho de cada leitura e ordenação
+     * @return {@link Flux} de uma representação {@link EntityModel} de um {@link Item}
+     */
+    public Flux<EntityModel<Item>> stream(Predicate predicate, String after, Pageable pageable) {
+        return keysetStream.stream(QItem.item, null, predicate, after, pageable, assembler);
+    }
+
     /**
      * Retorna uma representação {@link EntityModel} de um {@link Item}. Caso não encontre será lançado um {@link NotFoundException}
      *
@@ -53,42 +109,118 @@ public class ItemRules {
     }
 
     /**
-     * Cria e salva um {@link Item}. Caso não encontre será lançado um {@link NotFoundException}
+     * Retorna a representação HAL JSON já serializada de um {@link Item}, reaproveitada enquanto o {@link Item} não for alterado.
+     * Caso não encontre será lançado um {@link NotFoundException}
+     *
+     * @param id ID de um {@link Item}
+     * @return {@link ItemRepresentationCache.Representation} de um {@link Item}
+     */
+    public ItemRepresentationCache.Representation findRepresentation(UUID id) {
+        Item item = repository.findById(id).orElseThrow(() -> new NotFoundException(id));
+        return representations.get(item);
+    }
+
+    /**
+     * Retorna a versão atual de um {@link Item} sem carregá-lo. Caso não encontre será lançado um {@link NotFoundException}
+     *
+     * @param id ID de um {@link Item}
+     * @return Versão do {@link Item}
+     */
+    public Long findVersion(UUID id) {
+        return repository.findVersionById(id).orElseThrow(() -> new NotFoundException(id));
+    }
+
+    /**
+     * Retorna os {@link Item} encontrados para uma lista de IDs. Os presentes no cache de segundo nível são lidos dele,
+     * os demais em uma única consulta
+     *
+     * @param ids IDs de {@link Item}
+     * @return {@link Map} de {@link Item} por ID. IDs não encontrados não estarão presentes
+     */
+    public Map<UUID, Item> findAllById(Collection<UUID> ids) {
+        Map<UUID, Item> itens = new HashMap<>(ids.size());
+        List<UUID> missingIds = new ArrayList<>();
+        for (UUID id : ids) {
+            if (cache.contains(Item.class, id)) {
+                repository.findById(id).ifPresent(item -> itens.put(id, item));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            repository.findAllById(missingIds).forEach(item -> itens.put(item.getId(), item));
+        }
+        return itens;
+    }
+
+    /**
+     * Cria e salva um {@link Item}. Caso o nome já esteja cadastrado será lançado um {@link ConflictException}
      *
      * @param item {@link Item} para salvar
      * @return Representação {@link EntityModel} de um {@link Item}
      */
     public EntityModel<Item> createAndSave(Item item) {
+        if (item.getId() == null) {
+            uniqueKeys.validateItemName(item.getName());
+        }
         item.setActive(true);
-        return assembler.toModel(repository.save(item));
+        Item saved = repository.save(item);
+        uniqueKeys.addItemName(saved.getName());
+        return assembler.toModel(saved);
+    }
+
+    /**
+     * Importa em lote os {@link Item} de um arquivo CSV ou NDJSON, recusando individualmente os registros inválidos ou com nome já cadastrado
+     *
+     * @param format Formato do arquivo
+     * @param input  Conteúdo do arquivo, lido sob demanda
+     * @return {@link ItemImportSummary} com as quantidades e os erros de cada registro recusado
+     * @throws IOException Erro de leitura do arquivo
+     */
+    public ItemImportSummary importItems(ExportFormat format, InputStream input) throws IOException {
+        return itemImport.importItems(format, input);
     }
 
     /**
      * Atualiza e salva um {@link Item}. Caso não encontre será lançado um {@link NotFoundException}
+     * Caso a versão atual seja diferente da esperada será lançado um {@link PreconditionFailedException}
+     * Caso o novo nome já esteja cadastrado será lançado um {@link ConflictException}
      *
-     * @param id           ID de um {@link Item}
-     * @param itemToUpdate {@link Item} para salvar
+     * @param id              ID de um {@link Item}
+     * @param itemToUpdate    {@link Item} para salvar
+     * @param expectedVersion Versão esperada do {@link Item}, nula para assumir a versão atual
      * @return Representação {@link EntityModel} de um {@link Item}
      */
-    public EntityModel<Item> updateAndSave(UUID id, Item itemToUpdate) {
+    public EntityModel<Item> updateAndSave(UUID id, Item itemToUpdate, Long expectedVersion) {
         repository.findById(id)
                 .map(record -> {
+                    validateVersion(record, expectedVersion);
+                    if (!record.getName().equals(itemToUpdate.getName())) {
+                        uniqueKeys.validateItemName(itemToUpdate.getName());
+                    }
                     itemToUpdate.setId(id);
+                    itemToUpdate.setVersion(record.getVersion());
                     itemToUpdate.setActive(record.getActive());
                     return record;
                 }).orElseThrow(() -> new NotFoundException(id));
-        return assembler.toModel(repository.save(itemToUpdate));
+        Item item = repository.save(itemToUpdate);
+        uniqueKeys.addItemName(item.getName());
+        evict(id);
+        return assembler.toModel(item);
     }
 
     /**
-     * Deleta um {@link Item}
+     * Deleta um {@link Item}. Caso a versão atual seja diferente da esperada será lançado um {@link PreconditionFailedException}
      *
-     * @param id ID de um {@link Item}
+     * @param id              ID de um {@link Item}
+     * @param expectedVersion Versão esperada do {@link Item}, nula para assumir a versão atual
      * @return Representação {@link EntityModel} de um {@link Item}
      */
-    public EntityModel<Item> delete(UUID id) {
+    public EntityModel<Item> delete(UUID id, Long expectedVersion) {
         Item item = this.repository.findById(id).orElseThrow(() -> new NotFoundException(id));
+        validateVersion(item, expectedVersion);
         repository.delete(item);
+        evict(id);
         return assembler.toModel(item);
     }
 
@@ -123,8 +255,31 @@ public class ItemRules {
         Item item = this.repository.findById(id).orElseThrow(() -> new NotFoundException(id));
         if (!item.getActive().equals(flag)) {
             item.setActive(flag);
-            return assembler.toModel(repository.save(item));
+            item = repository.save(item);
+            evict(id);
+            return assembler.toModel(item);
         }
         throw new BusinessException("state.transitioning.notValid", item.getActive(), flag);
     }
+
+    /**
+     * Remove um {@link Item} alterado do cache de representações. O cache de segundo nível é atualizado pelo Hibernate
+     *
+     * @param id ID de um {@link Item}
+     */
+    private void evict(UUID id) {
+        representations.evict(id);
+    }
+
+    /**
+     * Valida se o {@link Item} está na versão esperada pelo cliente. Caso não esteja será lançado um {@link PreconditionFailedException}
+     *
+     * @param item            {@link Item}
+     * @param expectedVersion Versão esperada, nula para não validar
+     */
+    private void validateVersion(Item item, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(item.getVersion())) {
+            throw new PreconditionFailedException(item.getId());
+        }
+    }
 }
@@ -4,20 +4,31 @@ import br.com.senior.challenge.entities.Item;
 import br.com.senior.challenge.entities.QSalesOrderItem;
 import br.com.senior.challenge.entities.SalesOrder;
 import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.exceptions.BatchValidationException;
 import br.com.senior.challenge.exceptions.BusinessException;
 import br.com.senior.challenge.exceptions.NotFoundException;
 import br.com.senior.challenge.resources.assembler.SalesOrderItemResourceAssembler;
+import br.com.senior.challenge.resources.pagination.KeysetPagination;
+import br.com.senior.challenge.resources.pagination.KeysetStream;
 import br.com.senior.challenge.resources.repositories.SalesOrderItemRepository;
+import br.com.senior.challenge.resources.retry.OptimisticRetry;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.Expressions;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
-import java.util.Optional;
-import java.util.UUID;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static br.com.senior.challenge.controllers.handlers.ErrorConstraints.FIELD_NOT_NULL;
 
 /**
  * Serviço para tratativa de regras de negócio relacionados ao Item do Pedido
@@ -29,12 +40,25 @@ public class SalesOrderItemRules {
     private final SalesOrderItemResourceAssembler assembler;
     private final PagedResourcesAssembler<SalesOrderItem> pagedAssembler;
     private final SalesOrderRules orderRules;
+    private final ItemRules itemRules;
+    private final Validator validator;
+    private final KeysetPagination keysetPagination;
+    private final KeysetStream keysetStream;
+    private final OptimisticRetry retry;
+    private final int batchMaxSize;
 
-    public SalesOrderItemRules(SalesOrderItemRepository repository, SalesOrderItemResourceAssembler assembler, PagedResourcesAssembler<SalesOrderItem> pagedAssembler, SalesOrderRules orderRules) {
+    public SalesOrderItemRules(SalesOrderItemRepository repository, SalesOrderItemResourceAssembler assembler, PagedResourcesAssembler<SalesOrderItem> pagedAssembler, SalesOrderRules orderRules, ItemRules itemRules, Validator validator, KeysetPagination keysetPagination, KeysetStream keysetStream, OptimisticRetry retry,
+                               @Value("${sales-order.item.batch.max-size:1000}") int batchMaxSize) {
         this.repository = repository;
         this.assembler = assembler;
         this.pagedAssembler = pagedAssembler;
         this.orderRules = orderRules;
+        this.itemRules = itemRules;
+        this.validator = validator;
+        this.keysetPagination = keysetPagination;
+        this.keysetStream = keysetStream;
+        this.retry = retry;
+        this.batchMaxSize = batchMaxSize;
     }
 
     /**
@@ -50,6 +74,34 @@ public class SalesOrderItemRules {
         return pagedAssembler.toModel(repository.findAll(predicate, pageable));
     }
 
+    /**
+     * Retorna uma lista paginada por cursor {@link PagedModel} de uma representação {@link EntityModel} de {@link SalesOrderItem}
+     *
+     * @param id        ID do {@link SalesOrder}
+     * @param predicate Query adicional
+     * @param after     Cursor da página anterior, vazio para a primeira página
+     * @param pageable  Tamanho da página e ordenação
+     * @return Lista paginada
+     */
+    public PagedModel<EntityModel<SalesOrderItem>> findByOrderIdAfter(UUID id, Predicate predicate, String after, Pageable pageable) {
+        predicate = Expressions.asBoolean(QSalesOrderItem.salesOrderItem.order.id.eq(id)).and(predicate);
+        return keysetPagination.toModel(keysetPagination.findAll(QSalesOrderItem.salesOrderItem, SalesOrderItem.GRAPH_DETAIL, predicate, after, pageable), assembler);
+    }
+
+    /**
+     * Transmite sob demanda uma representação {@link EntityModel} de cada {@link SalesOrderItem} de um {@link SalesOrder}
+     *
+     * @param id        ID do {@link SalesOrder}
+     * @param predicate Query adicional
+     * @param after     Cursor inicial, opcional
+     * @param pageable  Tamanho de cada leitura e ordenação
+     * @return {@link Flux} de uma representação {@link EntityModel} de {@link SalesOrderItem}
+     */
+    public Flux<EntityModel<SalesOrderItem>> streamByOrderId(UUID id, Predicate predicate, String after, Pageable pageable) {
+        predicate = Expressions.asBoolean(QSalesOrderItem.salesOrderItem.order.id.eq(id)).and(predicate);
+        return keysetStream.stream(QSalesOrderItem.salesOrderItem, SalesOrderItem.GRAPH_DETAIL, predicate, after, pageable, assembler);
+    }
+
     /**
      * Retorna uma representação {@link EntityModel} de {@link SalesOrderItem}.  Caso não encontre será lançado um {@link NotFoundException}
      *
@@ -58,9 +110,9 @@ public class SalesOrderItemRules {
      * @return {@link EntityModel} de {@link SalesOrderItem}
      */
     public EntityModel<SalesOrderItem> findByOrderIdAndId(UUID orderId, UUID id) {
-        Optional.ofNullable(repository.findByOrderIdAndId(orderId, id))
+        SalesOrderItem orderItem = Optional.ofNullable(repository.findByOrderIdAndId(orderId, id))
                 .orElseThrow(() -> new NotFoundException(id));
-        return assembler.toModel(repository.findByOrderIdAndId(orderId, id));
+        return assembler.toModel(orderItem);
     }
 
     /**
@@ -73,37 +125,95 @@ public class SalesOrderItemRules {
      */
     public SalesOrderItem create(SalesOrder order, SalesOrderItem orderItem) {
         orderRules.validateOpenned(order);
+        orderItem.setId(null);
         orderItem.setOrder(order);
-        orderRules.recalculate(order);
         return orderItem;
     }
 
     /**
-     * Cria um {@link SalesOrder}.
+     * Cria e salva um {@link SalesOrderItem}, somando seu total aos subtotais do pedido na mesma transação.
+     * Em caso de conflito com uma alteração concorrente do pedido a inclusão é repetida sobre o pedido atual.
      * Caso não encontre um {@link SalesOrder} será lançado um {@link NotFoundException}
      * Caso o item não esteja ativo será lançado {@link BusinessException}
      *
-     * @param orderId   ID do {@link SalesOrder} do {@link SalesOrderItem}
+     * @param orderId   ID de um {@link SalesOrder}
      * @param orderItem {@link SalesOrderItem} para salvar
-     * @return Representação {@link EntityModel} de um {@link SalesOrderItem}
+     * @return Representação de um {@link SalesOrderItem}
      */
-    public SalesOrderItem create(UUID orderId, SalesOrderItem orderItem) {
-        SalesOrder order = orderRules.findById(orderId).getContent();
-        validateActiveItem(orderItem.getItem());
-        orderItem = create(order, orderItem);
-        return orderItem;
+    public EntityModel<SalesOrderItem> createAndSave(UUID orderId, SalesOrderItem orderItem) {
+        return retry.execute(lastAttempt -> {
+            SalesOrder order = orderRules.findForUpdate(orderId, lastAttempt);
+            orderItem.setItem(getActiveItem(orderItem.getItem()));
+            SalesOrderItem newOrderItem = repository.save(create(order, orderItem));
+            orderRules.applyItemDeltaAndSave(newOrderItem.getOrder(), null, newOrderItem);
+            return assembler.toModel(newOrderItem);
+        });
     }
 
     /**
-     * Cria e salva um {@link SalesOrderItem}
+     * Cria e salva uma lista de {@link SalesOrderItem} em lote, recalculando e salvando o pedido uma única vez.
+     * Os {@link Item} referenciados são buscados em uma única consulta.
+     * Caso não encontre um {@link SalesOrder} será lançado um {@link NotFoundException}
+     * Caso o pedido não esteja OPENNED ou o lote exceda {@code sales-order.item.batch.max-size} itens será lançado {@link BusinessException}
+     * Caso algum item seja nulo ou inválido nenhum será salvo e será lançado {@link BatchValidationException} com os erros de cada item
      *
-     * @param orderId   ID de um {@link SalesOrder}
-     * @param orderItem {@link SalesOrderItem} para salvar
-     * @return Representação de um {@link SalesOrderItem}
+     * @param orderId    ID de um {@link SalesOrder}
+     * @param orderItems {@link SalesOrderItem} para salvar
+     * @return Representação {@link CollectionModel} dos {@link SalesOrderItem} salvos
      */
-    public EntityModel<SalesOrderItem> createAndSave(UUID orderId, SalesOrderItem orderItem) {
-        SalesOrderItem newOrderItem = create(orderId, orderItem);
-        return assembler.toModel(repository.save(newOrderItem));
+    public CollectionModel<EntityModel<SalesOrderItem>> createAndSaveAll(UUID orderId, List<SalesOrderItem> orderItems) {
+        if (orderItems.size() > batchMaxSize) {
+            throw new BusinessException("batch.size.exceeded", batchMaxSize);
+        }
+        return retry.execute(lastAttempt -> saveAll(orderId, orderItems, lastAttempt));
+    }
+
+    /**
+     * Valida e salva os {@link SalesOrderItem} sobre a versão atual do pedido, conforme {@link #createAndSaveAll(UUID, List)}
+     *
+     * @param orderId    ID de um {@link SalesOrder}
+     * @param orderItems {@link SalesOrderItem} para salvar
+     * @param lock       Bloqueia o pedido na leitura
+     * @return Representação {@link CollectionModel} dos {@link SalesOrderItem} salvos
+     */
+    private CollectionModel<EntityModel<SalesOrderItem>> saveAll(UUID orderId, List<SalesOrderItem> orderItems, boolean lock) {
+        SalesOrder order = orderRules.findForUpdate(orderId, lock);
+        orderRules.validateOpenned(order);
+        Map<UUID, Item> itens = itemRules.findAllById(orderItems.stream()
+                .filter(Objects::nonNull)
+                .map(SalesOrderItem::getItem)
+                .filter(item -> item != null && item.getId() != null)
+                .map(Item::getId)
+                .collect(Collectors.toSet()));
+
+        BatchValidationException batchException = new BatchValidationException();
+        for (int i = 0; i < orderItems.size(); i++) {
+            SalesOrderItem orderItem = orderItems.get(i);
+            if (orderItem == null) {
+                batchException.addError(i, new BusinessException(FIELD_NOT_NULL));
+                continue;
+            }
+            Set<ConstraintViolation<SalesOrderItem>> violations = validator.validate(orderItem);
+            if (!violations.isEmpty()) {
+                batchException.addViolations(i, violations);
+                continue;
+            }
+            try {
+                orderItem.setItem(getItem(itens, orderItem.getItem()));
+                validateActiveItem(orderItem.getItem());
+                create(order, orderItem);
+            } catch (BusinessException e) {
+                batchException.addError(i, e);
+            }
+        }
+        if (batchException.hasErrors()) {
+            throw batchException;
+        }
+
+        List<SalesOrderItem> newOrderItems = new ArrayList<>(orderItems.size());
+        repository.saveAll(orderItems).forEach(newOrderItems::add);
+        orderRules.addItemsAndSave(order, newOrderItems);
+        return assembler.toCollectionModel(newOrderItems);
     }
 
     /**
@@ -111,26 +221,22 @@ public class SalesOrderItemRules {
      * Caso o pedido não esteja OPENNED será lançado {@link BusinessException}.
      * Caso não encontre será lançado um {@link NotFoundException}
      *
-     * @param orderId           ID de um {@link SalesOrder}
-     * @param id                ID de um {@link SalesOrderItem}
+     * @param record            {@link SalesOrderItem} atualmente salvo
      * @param orderItemToUpdate {@link SalesOrderItem} para salvar
      * @return Representação {@link EntityModel} de um {@link SalesOrderItem}
      */
-    public SalesOrderItem update(UUID orderId, UUID id, SalesOrderItem orderItemToUpdate) {
-        Optional.ofNullable(repository.findByOrderIdAndId(orderId, id))
-                .map(record -> {
-                    orderItemToUpdate.setId(id);
-                    orderItemToUpdate.setOrder(record.getOrder());
-                    return record;
-                }).orElseThrow(() -> new NotFoundException(id));
-        validateActiveItem(orderItemToUpdate.getItem());
+    public SalesOrderItem update(SalesOrderItem record, SalesOrderItem orderItemToUpdate) {
+        orderItemToUpdate.setId(record.getId());
+        orderItemToUpdate.setOrder(record.getOrder());
+        orderItemToUpdate.setItem(getActiveItem(orderItemToUpdate.getItem()));
         orderRules.validateOpenned(orderItemToUpdate.getOrder());
-        orderRules.recalculate(orderItemToUpdate.getOrder());
         return orderItemToUpdate;
     }
 
     /**
-     * Atualiza e salva um {@link SalesOrderItem}. Caso não encontre será lançado um {@link NotFoundException}
+     * Atualiza e salva um {@link SalesOrderItem}, aplicando a diferença do total nos subtotais do pedido na mesma transação.
+     * Em caso de conflito com uma alteração concorrente do pedido a alteração é repetida sobre o pedido atual.
+     * Caso não encontre será lançado um {@link NotFoundException}
      *
      * @param orderId           ID de um {@link SalesOrder}
      * @param id                ID de um {@link SalesOrderItem}
@@ -138,12 +244,19 @@ public class SalesOrderItemRules {
      * @return Representação {@link EntityModel} de um {@link SalesOrderItem}
      */
     public EntityModel<SalesOrderItem> updateAndSave(UUID orderId, UUID id, SalesOrderItem orderItemToUpdate) {
-        orderItemToUpdate = update(orderId, id, orderItemToUpdate);
-        return assembler.toModel(repository.save(orderItemToUpdate));
+        return retry.execute(lastAttempt -> {
+            lockOrder(orderId, lastAttempt);
+            SalesOrderItem record = Optional.ofNullable(repository.findByOrderIdAndId(orderId, id))
+                    .orElseThrow(() -> new NotFoundException(id));
+            SalesOrderItem previous = copyOf(record);
+            SalesOrderItem updatedOrderItem = repository.save(update(record, orderItemToUpdate));
+            orderRules.applyItemDeltaAndSave(updatedOrderItem.getOrder(), previous, updatedOrderItem);
+            return assembler.toModel(updatedOrderItem);
+        });
     }
 
     /**
-     * Deleta um {@link SalesOrder}.
+     * Deleta um {@link SalesOrder}, subtraindo seu total dos subtotais do pedido na mesma transação.
      * Caso não encontre será lançado um {@link NotFoundException}.
      * Caso o pedido não esteja OPENNED será lançado {@link BusinessException}.
      *
@@ -152,12 +265,77 @@ public class SalesOrderItemRules {
      * @return Representação {@link EntityModel} de um {@link SalesOrderItem}
      */
     public EntityModel<SalesOrderItem> delete(UUID orderId, UUID id) {
-        SalesOrderItem salesOrderItem = Optional.ofNullable(repository.findByOrderIdAndId(orderId, id))
-                .orElseThrow(() -> new NotFoundException(id));
-        orderRules.validateOpenned(salesOrderItem.getOrder());
-        repository.delete(salesOrderItem);
-        orderRules.recalculateAndSave(salesOrderItem.getOrder());
-        return assembler.toModel(salesOrderItem);
+        return retry.execute(lastAttempt -> {
+            lockOrder(orderId, lastAttempt);
+            SalesOrderItem salesOrderItem = Optional.ofNullable(repository.findByOrderIdAndId(orderId, id))
+                    .orElseThrow(() -> new NotFoundException(id));
+            orderRules.validateOpenned(salesOrderItem.getOrder());
+            repository.delete(salesOrderItem);
+            orderRules.applyItemDeltaAndSave(salesOrderItem.getOrder(), salesOrderItem, null);
+            return assembler.toModel(salesOrderItem);
+        });
+    }
+
+    /**
+     * Bloqueia o pedido antes da leitura do item, para que a última repetição de uma alteração em conflito não volte a conflitar.
+     * O item lido em seguida referencia o mesmo pedido já bloqueado
+     *
+     * @param orderId ID de um {@link SalesOrder}
+     * @param lock    Bloqueia o pedido
+     */
+    private void lockOrder(UUID orderId, boolean lock) {
+        if (lock) {
+            orderRules.findForUpdate(orderId, true);
+        }
+    }
+
+    /**
+     * Copia os valores de um {@link SalesOrderItem} que compõem seu total.
+     * Necessário pois, na mesma transação, salvar a alteração sobrescreve o registro carregado
+     *
+     * @param orderItem {@link SalesOrderItem}
+     * @return Cópia do {@link SalesOrderItem}
+     */
+    private SalesOrderItem copyOf(SalesOrderItem orderItem) {
+        SalesOrderItem copy = new SalesOrderItem();
+        copy.setId(orderItem.getId());
+        copy.setItem(orderItem.getItem());
+        copy.setQuantity(orderItem.getQuantity());
+        copy.setPrice(orderItem.getPrice());
+        return copy;
+    }
+
+    /**
+     * Retorna o {@link Item} já carregado correspondente à referência informada.
+     * Caso não encontre será lançado um {@link NotFoundException}
+     *
+     * @param itens {@link Item} carregados por ID
+     * @param item  Referência do {@link Item}
+     * @return {@link Item} carregado
+     */
+    private Item getItem(Map<UUID, Item> itens, Item item) {
+        if (item.getId() == null) {
+            throw new BusinessException(FIELD_NOT_NULL);
+        }
+        return Optional.ofNullable(itens.get(item.getId()))
+                .orElseThrow(() -> new NotFoundException(item.getId()));
+    }
+
+    /**
+     * Retorna o {@link Item} atual, obtido pelo cache de itens, correspondente à referência informada.
+     * Caso não encontre será lançado um {@link NotFoundException}.
+     * Caso o item não esteja ativo será lançado {@link BusinessException}
+     *
+     * @param item Referência do {@link Item}
+     * @return {@link Item} atual
+     */
+    private Item getActiveItem(Item item) {
+        if (item.getId() == null) {
+            throw new BusinessException(FIELD_NOT_NULL);
+        }
+        Item current = itemRules.findById(item.getId()).getContent();
+        validateActiveItem(current);
+        return current;
     }
 
     /**
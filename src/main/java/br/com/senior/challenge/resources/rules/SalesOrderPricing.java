@@ -0,0 +1,130 @@
+package br.com.senior.challenge.resources.rules;
+
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+import static br.com.senior.challenge.entities.enums.OrderStatus.OPENNED;
+
+/**
+ * Cálculo dos subtotais, do total e do desconto de um {@link SalesOrder} sobre os itens em memória, sem acesso ao banco
+ */
+@Component
+public class SalesOrderPricing {
+
+    /**
+     * Recalcula um pedido {@link SalesOrder} a partir de todos os seus itens, reconstruindo os subtotais
+     *
+     * @param order {@link SalesOrder}
+     * @return {@link SalesOrder}
+     */
+    public SalesOrder recalculate(SalesOrder order) {
+        updateSubtotals(order);
+        return totalize(order);
+    }
+
+    /**
+     * Aplica a diferença de um item nos subtotais do pedido {@link SalesOrder}, sem percorrer os demais itens.
+     * O pedido deve possuir subtotais, verifique com {@link #hasSubtotals}
+     *
+     * @param order    {@link SalesOrder}
+     * @param previous {@link SalesOrderItem} antes da alteração, nulo na inclusão
+     * @param current  {@link SalesOrderItem} após a alteração, nulo na exclusão
+     * @return {@link SalesOrder}
+     */
+    public SalesOrder applyItemDelta(SalesOrder order, SalesOrderItem previous, SalesOrderItem current) {
+        if (previous != null) {
+            order.addAmountByType(previous.getItem().getType(), previous.getTotalAmount().negate());
+        }
+        if (current != null) {
+            order.addAmountByType(current.getItem().getType(), current.getTotalAmount());
+        }
+        return totalize(order);
+    }
+
+    /**
+     * Soma os totais de novos itens aos subtotais do pedido {@link SalesOrder}.
+     * O pedido deve possuir subtotais, verifique com {@link #hasSubtotals}
+     *
+     * @param order      {@link SalesOrder}
+     * @param orderItems {@link SalesOrderItem} incluídos
+     * @return {@link SalesOrder}
+     */
+    public SalesOrder addItems(SalesOrder order, Collection<SalesOrderItem> orderItems) {
+        for (SalesOrderItem orderItem : orderItems) {
+            order.addAmountByType(orderItem.getItem().getType(), orderItem.getTotalAmount());
+        }
+        return totalize(order);
+    }
+
+    /**
+     * Atualiza o valor total de um {@link SalesOrder} a partir dos subtotais e aplica o desconto
+     *
+     * @param order {@link SalesOrder}
+     * @return {@link SalesOrder}
+     */
+    public SalesOrder totalize(SalesOrder order) {
+        order.setTotal(order.getProductsAmount().add(order.getServicesAmount()));
+        applyDiscount(order);
+        return order;
+    }
+
+    /**
+     * Verifica se os subtotais mantidos por diferença de um {@link SalesOrder} conferem com o recálculo completo dos itens
+     *
+     * @param stored {@link SalesOrder} com os itens carregados
+     * @return Verdadeiro caso os valores confiram
+     */
+    public boolean isConsistent(SalesOrder stored) {
+        SalesOrder recalculated = new SalesOrder();
+        recalculated.setStatus(stored.getStatus());
+        recalculated.setDiscount(stored.getDiscount());
+        recalculated.setItens(stored.getItens());
+        recalculate(recalculated);
+        return hasSubtotals(stored)
+                && recalculated.getProductsAmount().compareTo(stored.getProductsAmount()) == 0
+                && recalculated.getServicesAmount().compareTo(stored.getServicesAmount()) == 0
+                && (!isDiscountAllowed(stored) || recalculated.getTotal().compareTo(stored.getTotal()) == 0);
+    }
+
+    public boolean hasSubtotals(SalesOrder order) {
+        return order.getProductsAmount() != null && order.getServicesAmount() != null;
+    }
+
+    public boolean isDiscountAllowed(SalesOrder order) {
+        return order.getStatus() != null && order.getStatus().equals(OPENNED);
+    }
+
+    /**
+     * Reconstrói os subtotais de produtos e serviços de um {@link SalesOrder} percorrendo os itens
+     *
+     * @param order {@link SalesOrder}
+     */
+    private void updateSubtotals(SalesOrder order) {
+        order.setProductsAmount(BigDecimal.ZERO);
+        order.setServicesAmount(BigDecimal.ZERO);
+        for (SalesOrderItem item : order.getItens()) {
+            order.addAmountByType(item.getItem().getType(), item.getTotalAmount());
+        }
+    }
+
+    /**
+     * Aplica um desconto sobre o subtotal de produtos do pedido {@link SalesOrder}
+     *
+     * @param order {@link SalesOrder}
+     */
+    private void applyDiscount(SalesOrder order) {
+        if (!isDiscountAllowed(order) || order.getDiscount() == null) {
+            return;
+        }
+        final BigDecimal productsAmount = order.getProductsAmount();
+        if (productsAmount.signum() != 0) {
+            final BigDecimal amountToDiscount = productsAmount.multiply(order.getDiscount()).scaleByPowerOfTen(-2);
+            order.setTotal(order.getTotal().subtract(amountToDiscount));
+        }
+    }
+
+}
@@ -3,22 +3,37 @@ package br.com.senior.challenge.resources.rules;
 import br.com.senior.challenge.entities.Item;
 import br.com.senior.challenge.entities.SalesOrder;
 import br.com.senior.challenge.entities.SalesOrderItem;
-import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.entities.SalesOrderSummary;
 import br.com.senior.challenge.entities.enums.OrderStatus;
 import br.com.senior.challenge.exceptions.BusinessException;
+import br.com.senior.challenge.exceptions.ConflictException;
 import br.com.senior.challenge.exceptions.NotFoundException;
+import br.com.senior.challenge.exceptions.PreconditionFailedException;
 import br.com.senior.challenge.resources.assembler.SalesOrderResourceAssembler;
+import br.com.senior.challenge.resources.assembler.SalesOrderWithItensAssembler;
+import br.com.senior.challenge.resources.export.ExportFormat;
+import br.com.senior.challenge.resources.export.SalesOrderExport;
 import br.com.senior.challenge.resources.repositories.SalesOrderRepository;
+import br.com.senior.challenge.resources.retry.OptimisticRetry;
+import br.com.senior.challenge.resources.transitions.SalesOrderTransitions;
+import br.com.senior.challenge.resources.transitions.TransitionSummary;
+import br.com.senior.challenge.resources.uniqueness.UniqueKeys;
+import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.PathVariable;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
-import java.util.Set;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static br.com.senior.challenge.entities.enums.OrderStatus.OPENNED;
@@ -32,25 +47,79 @@ public class SalesOrderRules {
 
     private final SalesOrderRepository repository;
     private final SalesOrderResourceAssembler assembler;
-    private final PagedResourcesAssembler<SalesOrder> pagedAssembler;
+    private final SalesOrderWithItensAssembler withItensAssembler;
+    private final SalesOrderSummaryRules summaryRules;
+    private final SalesOrderExport export;
+    private final OptimisticRetry retry;
+    private final UniqueKeys uniqueKeys;
+    private final SalesOrderTransitions transitions;
+    private final SalesOrderPricing pricing;
 
     public SalesOrderRules(SalesOrderRepository repository,
                            SalesOrderResourceAssembler assembler,
-                           PagedResourcesAssembler<SalesOrder> pagedAssembler) {
+                           SalesOrderWithItensAssembler withItensAssembler,
+                           SalesOrderSummaryRules summaryRules,
+                           SalesOrderExport export,
+                           OptimisticRetry retry,
+                           UniqueKeys uniqueKeys,
+                           SalesOrderTransitions transitions,
+                           SalesOrderPricing pricing) {
         this.repository = repository;
         this.assembler = assembler;
-        this.pagedAssembler = pagedAssembler;
+        this.withItensAssembler = withItensAssembler;
+        this.summaryRules = summaryRules;
+        this.export = export;
+        this.retry = retry;
+        this.uniqueKeys = uniqueKeys;
+        this.transitions = transitions;
+        this.pricing = pricing;
     }
 
     /**
-     * Retorna uma lista paginada {@link PagedModel} de uma representação {@link EntityModel} de um {@link SalesOrder}
+     * Retorna uma lista paginada {@link PagedModel} do resumo dos pedidos, sem carregar os {@link SalesOrder}
      *
-     * @param predicate Query adicional
+     * @param predicate Query adicional sobre o {@link SalesOrderSummary}
      * @param pageable  Paginação
-     * @return {@link PagedModel} de uma representação {@link EntityModel} de um {@link SalesOrder}
+     * @return {@link PagedModel} de uma representação {@link EntityModel} de um {@link SalesOrderSummary}
+     */
+    public PagedModel<EntityModel<SalesOrderSummary>> findAll(Predicate predicate, Pageable pageable) {
+        return summaryRules.findAll(predicate, pageable);
+    }
+
+    /**
+     * Retorna uma lista paginada por cursor {@link PagedModel} do resumo dos pedidos, sem carregar os {@link SalesOrder}
+     *
+     * @param predicate Query adicional sobre o {@link SalesOrderSummary}
+     * @param after     Cursor da página anterior, vazio para a primeira página
+     * @param pageable  Tamanho da página e ordenação
+     * @return {@link PagedModel} de uma representação {@link EntityModel} de um {@link SalesOrderSummary}
+     */
+    public PagedModel<EntityModel<SalesOrderSummary>> findAllAfter(Predicate predicate, String after, Pageable pageable) {
+        return summaryRules.findAllAfter(predicate, after, pageable);
+    }
+
+    /**
+     * Transmite sob demanda o resumo de cada pedido, sem carregar os {@link SalesOrder}
+     *
+     * @param predicate Query adicional sobre o {@link SalesOrderSummary}
+     * @param after     Cursor inicial, opcional
+     * @param pageable  Tamanho de cada leitura e ordenação
+     * @return {@link Flux} de uma representação {@link EntityModel} de um {@link SalesOrderSummary}
+     */
+    public Flux<EntityModel<SalesOrderSummary>> stream(Predicate predicate, String after, Pageable pageable) {
+        return summaryRules.stream(predicate, after, pageable);
+    }
+
+    /**
+     * Exporta os pedidos com seus itens, escrevendo diretamente na saída à medida que são lidos
+     *
+     * @param predicate Query adicional
+     * @param format    {@link ExportFormat}
+     * @param output    Saída onde os pedidos serão escritos
+     * @throws IOException Erro de escrita na saída
      */
-    public PagedModel<EntityModel<SalesOrder>> findAll(Predicate predicate, Pageable pageable) {
-        return pagedAssembler.toModel(repository.findAll(predicate, pageable));
+    public void export(Predicate predicate, ExportFormat format, OutputStream output) throws IOException {
+        export.export(predicate, format, output);
     }
 
     /**
@@ -65,49 +134,125 @@ public class SalesOrderRules {
     }
 
     /**
-     * Cria e salva um {@link SalesOrder}
+     * Retorna a versão atual de um {@link SalesOrder} sem carregá-lo. Caso não encontre será lançado um {@link NotFoundException}
+     *
+     * @param id ID de um {@link SalesOrder}
+     * @return Versão do {@link SalesOrder}
+     */
+    public Long findVersion(UUID id) {
+        return repository.findVersionById(id).orElseThrow(() -> new NotFoundException(id));
+    }
+
+    /**
+     * Retorna uma representação de um {@link SalesOrder} com suas linhas e os respectivos itens incorporados,
+     * carregados em uma única consulta. Caso não encontre será lançado um {@link NotFoundException}
+     *
+     * @param id ID de um {@link SalesOrder}
+     * @return Representação {@link EntityModel} de um {@link SalesOrder} com as linhas em {@code _embedded}
+     */
+    public EntityModel<SalesOrder> findByIdWithItens(UUID id) {
+        List<Object[]> rows = this.repository.findWithItensById(id, PageRequest.of(0, withItensAssembler.getFetchSize()));
+        if (rows.isEmpty()) {
+            throw new NotFoundException(id);
+        }
+        return withItensAssembler.toModel(rows);
+    }
+
+    /**
+     * Retorna um {@link SalesOrder} para alteração, opcionalmente bloqueando o registro até o fim da transação.
+     * Caso não encontre será lançado um {@link NotFoundException}
+     *
+     * @param id   ID de um {@link SalesOrder}
+     * @param lock Bloqueia o registro, utilizado na última repetição de uma alteração em conflito
+     * @return {@link SalesOrder}
+     */
+    public SalesOrder findForUpdate(UUID id, boolean lock) {
+        Optional<SalesOrder> order = lock ? repository.findLockedById(id) : repository.findById(id);
+        return order.orElseThrow(() -> new NotFoundException(id));
+    }
+
+    /**
+     * Cria e salva um {@link SalesOrder} e seu resumo na mesma transação.
+     * Caso a referência já esteja cadastrada será lançado um {@link ConflictException}
      *
      * @param order {@link SalesOrder} para salvar
      * @return Representação {@link EntityModel} de um {@link SalesOrder}
      */
     public EntityModel<SalesOrder> createAndSave(SalesOrder order) {
-        order.setStatus(OPENNED);
-        return assembler.toModel(recalculateAndSave(order));
+        if (order.getId() == null) {
+            uniqueKeys.validateOrderReference(order.getReference());
+        }
+        return retry.execute(lastAttempt -> {
+            order.setStatus(OPENNED);
+            order.setProductsAmount(BigDecimal.ZERO);
+            order.setServicesAmount(BigDecimal.ZERO);
+            SalesOrder saved = totalizeAndSave(order);
+            uniqueKeys.addOrderReference(saved.getReference());
+            return assembler.toModel(saved);
+        });
     }
 
     /**
-     * Atualiza e salva um {@link SalesOrder}.
+     * Atualiza e salva um {@link SalesOrder}, repetindo a alteração em caso de conflito com uma alteração concorrente.
      * Caso não encontre será lançado um {@link NotFoundException}
      * Caso o pedido não esteja OPENNED será lançado {@link BusinessException}.
+     * Caso a versão atual seja diferente da esperada será lançado um {@link PreconditionFailedException}
+     * Caso a nova referência já esteja cadastrada será lançado um {@link ConflictException}
      *
-     * @param id            ID de um {@link SalesOrder}
-     * @param orderToUpdate {@link SalesOrder} para salvar
+     * @param id              ID de um {@link SalesOrder}
+     * @param orderToUpdate   {@link SalesOrder} para salvar
+     * @param expectedVersion Versão esperada do {@link SalesOrder}, nula para assumir a versão atual
      * @return Representação {@link EntityModel} de um {@link SalesOrder}
      */
-    public EntityModel<SalesOrder> updateAndSave(UUID id, SalesOrder orderToUpdate) {
-        SalesOrder salesOrder = this.repository.findById(id)
-                .map(record -> {
-                    orderToUpdate.setId(id);
-                    orderToUpdate.setStatus(record.getStatus());
-                    if (!isDiscountAllowed(record)) {
-                        orderToUpdate.setDiscount(record.getDiscount());
-                    }
-                    return record;
-                }).orElseThrow(() -> new NotFoundException(id));
-        validateOpenned(salesOrder);
-        return assembler.toModel(recalculateAndSave(orderToUpdate));
+    public EntityModel<SalesOrder> updateAndSave(UUID id, SalesOrder orderToUpdate, Long expectedVersion) {
+        return retry.execute(lastAttempt -> assembler.toModel(update(id, orderToUpdate, expectedVersion, lastAttempt)));
+    }
+
+    /**
+     * Aplica os dados informados sobre a versão atual do {@link SalesOrder} e salva
+     *
+     * @param id              ID de um {@link SalesOrder}
+     * @param orderToUpdate   {@link SalesOrder} para salvar
+     * @param expectedVersion Versão esperada do {@link SalesOrder}, nula para assumir a versão atual
+     * @param lock            Bloqueia o pedido na leitura
+     * @return {@link SalesOrder}
+     */
+    private SalesOrder update(UUID id, SalesOrder orderToUpdate, Long expectedVersion, boolean lock) {
+        SalesOrder record = findForUpdate(id, lock);
+        validateVersion(record, expectedVersion);
+        orderToUpdate.setId(id);
+        orderToUpdate.setVersion(record.getVersion());
+        orderToUpdate.setStatus(record.getStatus());
+        orderToUpdate.setProductsAmount(record.getProductsAmount());
+        orderToUpdate.setServicesAmount(record.getServicesAmount());
+        if (!pricing.isDiscountAllowed(record)) {
+            orderToUpdate.setDiscount(record.getDiscount());
+        }
+        validateOpenned(record);
+        if (!record.getReference().equals(orderToUpdate.getReference())) {
+            uniqueKeys.validateOrderReference(orderToUpdate.getReference());
+        }
+        SalesOrder saved = totalizeAndSave(orderToUpdate);
+        uniqueKeys.addOrderReference(saved.getReference());
+        return saved;
     }
 
     /**
      * Deleta um {@link SalesOrder}. Caso não encontre será lançado um {@link NotFoundException}
+     * Caso a versão atual seja diferente da esperada será lançado um {@link PreconditionFailedException}
      *
-     * @param id ID de um {@link SalesOrder}
+     * @param id              ID de um {@link SalesOrder}
+     * @param expectedVersion Versão esperada do {@link SalesOrder}, nula para assumir a versão atual
      * @return Representação {@link EntityModel} de um {@link SalesOrder}
      */
-    public EntityModel<SalesOrder> delete(UUID id) {
-        SalesOrder order = this.repository.findById(id).orElseThrow(() -> new NotFoundException(id));
-        repository.delete(order);
-        return assembler.toModel(order);
+    public EntityModel<SalesOrder> delete(UUID id, Long expectedVersion) {
+        return retry.execute(lastAttempt -> {
+            SalesOrder order = findForUpdate(id, lastAttempt);
+            validateVersion(order, expectedVersion);
+            summaryRules.delete(id);
+            repository.delete(order);
+            return assembler.toModel(order);
+        });
     }
 
     /**
@@ -134,6 +279,40 @@ public class SalesOrderRules {
         return changeStatus(id, OrderStatus.CANCELED);
     }
 
+    /**
+     * Altera para FULLFILLED o status dos pedidos informados ou, na ausência de IDs, dos pedidos filtrados.
+     * Caso não seja informado nenhum ID nem filtro será lançado um {@link BusinessException}
+     *
+     * @param ids       IDs dos {@link SalesOrder}, opcional
+     * @param predicate Query adicional sobre o {@link SalesOrder}, utilizada na ausência de IDs
+     * @return {@link TransitionSummary} com as quantidades de pedidos alterados e recusados
+     */
+    public TransitionSummary fulfill(Collection<UUID> ids, Predicate predicate) {
+        return changeStatus(ids, predicate, OrderStatus.FULLFILLED);
+    }
+
+    /**
+     * Altera para CANCELED o status dos pedidos informados ou, na ausência de IDs, dos pedidos filtrados.
+     * Caso não seja informado nenhum ID nem filtro será lançado um {@link BusinessException}
+     *
+     * @param ids       IDs dos {@link SalesOrder}, opcional
+     * @param predicate Query adicional sobre o {@link SalesOrder}, utilizada na ausência de IDs
+     * @return {@link TransitionSummary} com as quantidades de pedidos alterados e recusados
+     */
+    public TransitionSummary cancel(Collection<UUID> ids, Predicate predicate) {
+        return changeStatus(ids, predicate, OrderStatus.CANCELED);
+    }
+
+    private TransitionSummary changeStatus(Collection<UUID> ids, Predicate predicate, OrderStatus status) {
+        if (ids != null && !ids.isEmpty()) {
+            return transitions.transition(ids, status);
+        }
+        if (ExpressionUtils.extract(predicate) == null) {
+            throw new BusinessException("salesOrder.bulk.filter.required");
+        }
+        return transitions.transition(predicate, status);
+    }
+
     /**
      * Altera o status de um {@link SalesOrder}, conforme flag. Caso não seja possível será lançado um {@link BusinessException)
      *
@@ -142,12 +321,27 @@ public class SalesOrderRules {
      * @return Representação {@link EntityModel} de um {@link Item}
      */
     private EntityModel<SalesOrder> changeStatus(@PathVariable UUID id, OrderStatus status) {
-        SalesOrder order = this.repository.findById(id).orElseThrow(() -> new NotFoundException(id));
-        if (isValid(order.getStatus(), status)) {
-            order.setStatus(status);
-            return assembler.toModel(repository.save(order));
+        return retry.execute(lastAttempt -> {
+            SalesOrder order = findForUpdate(id, lastAttempt);
+            if (isValid(order.getStatus(), status)) {
+                order.setStatus(status);
+                return assembler.toModel(save(order, 0));
+            }
+            throw new BusinessException("state.transitioning.notValid", order.getStatus(), status);
+        });
+    }
+
+    /**
+     * Valida se o pedido {@link SalesOrder} está na versão esperada pelo cliente.
+     * Caso não esteja será lançado {@link PreconditionFailedException}
+     *
+     * @param order           {@link SalesOrder} para verificar a versão
+     * @param expectedVersion Versão esperada, nula para não validar
+     */
+    private void validateVersion(SalesOrder order, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new PreconditionFailedException(order.getId());
         }
-        throw new BusinessException("state.transitioning.notValid", order.getStatus(), status);
     }
 
     /**
@@ -169,11 +363,12 @@ public class SalesOrderRules {
      * @return {@link SalesOrder}
      */
     public SalesOrder recalculateAndSave(SalesOrder salesOrder) {
-        return repository.save(recalculate(salesOrder));
+        return save(recalculate(salesOrder), null);
     }
 
     /**
-     * Recalcula e um pedido {@link SalesOrder}
+     * Recalcula um pedido {@link SalesOrder} a partir de todos os seus itens, reconstruindo os subtotais.
+     * Percorre todos os itens do pedido, para alterações de um único item utilize {@link #applyItemDelta}
      *
      * @param salesOrder {@link SalesOrder}
      * @return {@link SalesOrder}
@@ -181,43 +376,85 @@ public class SalesOrderRules {
     public SalesOrder recalculate(SalesOrder salesOrder) {
         if (salesOrder.getId() != null)
             repository.findById(salesOrder.getId()).ifPresent(order -> salesOrder.setItens(order.getItens()));
-        updateTotal(salesOrder);
-        applyDiscount(salesOrder);
-        return salesOrder;
+        return pricing.recalculate(salesOrder);
     }
 
     /**
-     * Atualiza o valor total de um {@link SalesOrder}
+     * Aplica a diferença de um item no pedido {@link SalesOrder} e salva
      *
-     * @param order {@link SalesOrder}
+     * @param order    {@link SalesOrder}
+     * @param previous {@link SalesOrderItem} antes da alteração, nulo na inclusão
+     * @param current  {@link SalesOrderItem} após a alteração, nulo na exclusão
+     * @return {@link SalesOrder}
+     */
+    public SalesOrder applyItemDeltaAndSave(SalesOrder order, SalesOrderItem previous, SalesOrderItem current) {
+        return save(applyItemDelta(order, previous, current), previous == null ? 1 : current == null ? -1 : 0);
+    }
+
+    /**
+     * Soma os totais de novos itens aos subtotais do pedido {@link SalesOrder} e salva uma única vez
+     *
+     * @param order      {@link SalesOrder}
+     * @param orderItems {@link SalesOrderItem} incluídos
+     * @return {@link SalesOrder}
      */
-    private void updateTotal(SalesOrder order) {
-        final Set<SalesOrderItem> itens = order.getItens();
-        BigDecimal itensAmount = BigDecimal.ZERO;
-        if (!itens.isEmpty()) {
-            itensAmount = itens.stream().map(SalesOrderItem::getTotalAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    public SalesOrder addItemsAndSave(SalesOrder order, Collection<SalesOrderItem> orderItems) {
+        if (!pricing.hasSubtotals(order)) {
+            return recalculateAndSave(order);
         }
-        order.setTotal(itensAmount);
+        return save(pricing.addItems(order, orderItems), orderItems.size());
     }
 
     /**
-     * Aplica um desconto no pedido {@link SalesOrder}
+     * Aplica a diferença de um item nos subtotais do pedido {@link SalesOrder}, sem percorrer os demais itens.
+     * Caso o pedido ainda não possua subtotais será feito o recálculo completo
      *
-     * @param order {@link SalesOrder}
+     * @param order    {@link SalesOrder}
+     * @param previous {@link SalesOrderItem} antes da alteração, nulo na inclusão
+     * @param current  {@link SalesOrderItem} após a alteração, nulo na exclusão
+     * @return {@link SalesOrder}
      */
-    private void applyDiscount(SalesOrder order) {
-        if (!isDiscountAllowed(order) || order.getDiscount() == null) {
-            return;
+    public SalesOrder applyItemDelta(SalesOrder order, SalesOrderItem previous, SalesOrderItem current) {
+        if (!pricing.hasSubtotals(order)) {
+            return recalculate(order);
         }
-        final Set<SalesOrderItem> products = order.getItensByType(ItemType.PRODUCT);
-        if (!products.isEmpty()) {
-            final BigDecimal productsAmount = products.stream().map(SalesOrderItem::getTotalAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
-            final BigDecimal amountToDiscount = productsAmount.multiply(order.getDiscount()).scaleByPowerOfTen(-2);
-            order.setTotal(order.getTotal().subtract(amountToDiscount));
+        return pricing.applyItemDelta(order, previous, current);
+    }
+
+    /**
+     * Verifica se os subtotais mantidos por diferença de um {@link SalesOrder} conferem com o recálculo completo dos itens.
+     * Caso não encontre será lançado um {@link NotFoundException}
+     *
+     * @param id ID de um {@link SalesOrder}
+     * @return Verdadeiro caso os valores confiram
+     */
+    public boolean isConsistent(UUID id) {
+        return pricing.isConsistent(this.repository.findById(id).orElseThrow(() -> new NotFoundException(id)));
+    }
+
+    /**
+     * Atualiza o total e salva um {@link SalesOrder} a partir dos subtotais
+     *
+     * @param order {@link SalesOrder}
+     * @return {@link SalesOrder}
+     */
+    private SalesOrder totalizeAndSave(SalesOrder order) {
+        if (!pricing.hasSubtotals(order)) {
+            return recalculateAndSave(order);
         }
+        return save(pricing.totalize(order), 0);
     }
 
-    private boolean isDiscountAllowed(SalesOrder order) {
-        return order.getStatus() != null && order.getStatus().equals(OPENNED);
+    /**
+     * Salva um {@link SalesOrder} e atualiza seu resumo na mesma transação
+     *
+     * @param order     {@link SalesOrder}
+     * @param lineDelta Quantidade de itens incluídos (positiva) ou excluídos (negativa), nulo para recontar
+     * @return {@link SalesOrder} salvo
+     */
+    private SalesOrder save(SalesOrder order, Integer lineDelta) {
+        SalesOrder saved = repository.save(order);
+        summaryRules.summarize(saved, lineDelta);
+        return saved;
     }
 }
@@ -0,0 +1,149 @@
+package br.com.senior.challenge.resources.rules;
+
+import br.com.senior.challenge.entities.QSalesOrderSummary;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderSummary;
+import br.com.senior.challenge.resources.assembler.SalesOrderSummaryResourceAssembler;
+import br.com.senior.challenge.resources.pagination.KeysetPagination;
+import br.com.senior.challenge.resources.pagination.KeysetStream;
+import br.com.senior.challenge.resources.repositories.SalesOrderRepository;
+import br.com.senior.challenge.resources.repositories.SalesOrderSummaryRepository;
+import com.querydsl.core.types.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serviço para manutenção e consulta do resumo dos pedidos ({@link SalesOrderSummary}), que atende as listagens de pedidos
+ */
+@Service
+public class SalesOrderSummaryRules {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SalesOrderSummaryRules.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final SalesOrderSummaryRepository repository;
+    private final SalesOrderRepository orderRepository;
+    private final SalesOrderSummaryResourceAssembler assembler;
+    private final PagedResourcesAssembler<SalesOrderSummary> pagedAssembler;
+    private final KeysetPagination keysetPagination;
+    private final KeysetStream keysetStream;
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesOrderSummaryRules(SalesOrderSummaryRepository repository,
+                                  SalesOrderRepository orderRepository,
+                                  SalesOrderSummaryResourceAssembler assembler,
+                                  PagedResourcesAssembler<SalesOrderSummary> pagedAssembler,
+                                  KeysetPagination keysetPagination,
+                                  KeysetStream keysetStream,
+                                  PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.orderRepository = orderRepository;
+        this.assembler = assembler;
+        this.pagedAssembler = pagedAssembler;
+        this.keysetPagination = keysetPagination;
+        this.keysetStream = keysetStream;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Retorna uma lista paginada {@link PagedModel} de uma representação {@link EntityModel} de {@link SalesOrderSummary}
+     *
+     * @param predicate Query adicional
+     * @param pageable  Paginação
+     * @return {@link PagedModel} de uma representação {@link EntityModel} de um {@link SalesOrderSummary}
+     */
+    public PagedModel<EntityModel<SalesOrderSummary>> findAll(Predicate predicate, Pageable pageable) {
+        return pagedAssembler.toModel(repository.findAll(predicate, pageable));
+    }
+
+    /**
+     * Retorna uma lista paginada por cursor {@link PagedModel} de uma representação {@link EntityModel} de {@link SalesOrderSummary}
+     *
+     * @param predicate Query adicional
+     * @param after     Cursor da página anterior, vazio para a primeira página
+     * @param pageable  Tamanho da página e ordenação
+     * @return {@link PagedModel} de uma representação {@link EntityModel} de um {@link SalesOrderSummary}
+     */
+    public PagedModel<EntityModel<SalesOrderSummary>> findAllAfter(Predicate predicate, String after, Pageable pageable) {
+        return keysetPagination.toModel(keysetPagination.findAll(QSalesOrderSummary.salesOrderSummary, predicate, after, pageable), assembler);
+    }
+
+    /**
+     * Transmite sob demanda uma representação {@link EntityModel} de cada {@link SalesOrderSummary}
+     *
+     * @param predicate Query adicional
+     * @param after     Cursor inicial, opcional
+     * @param pageable  Tamanho de cada leitura e ordenação
+     * @return {@link Flux} de uma representação {@link EntityModel} de um {@link SalesOrderSummary}
+     */
+    public Flux<EntityModel<SalesOrderSummary>> stream(Predicate predicate, String after, Pageable pageable) {
+        return keysetStream.stream(QSalesOrderSummary.salesOrderSummary, null, predicate, after, pageable, assembler);
+    }
+
+    /**
+     * Atualiza o resumo de um pedido salvo, criando-o caso ainda não exista. Deve ser chamado na transação que alterou o pedido.
+     * A quantidade de itens é ajustada pela variação informada e contada somente na criação do resumo ou quando
+     * a variação não é conhecida, pois a contagem descarrega o pedido no banco antes do fim da transação e prolonga
+     * o bloqueio do seu registro
+     *
+     * @param order     {@link SalesOrder} salvo
+     * @param lineDelta Quantidade de itens incluídos (positiva) ou excluídos (negativa), nulo para recontar
+     * @return {@link SalesOrderSummary}
+     */
+    public SalesOrderSummary summarize(SalesOrder order, Integer lineDelta) {
+        SalesOrderSummary summary = repository.findById(order.getId()).orElseGet(() -> new SalesOrderSummary(order.getId()));
+        summary.summarize(order);
+        if (lineDelta == null || summary.isNew()) {
+            summary.setLineCount((int) repository.countLines(order.getId()));
+        } else if (lineDelta != 0) {
+            summary.setLineCount(summary.getLineCount() + lineDelta);
+        }
+        return repository.save(summary);
+    }
+
+    /**
+     * Exclui o resumo de um pedido, caso exista
+     *
+     * @param id ID do {@link SalesOrder}
+     */
+    public void delete(UUID id) {
+        repository.findById(id).ifPresent(repository::delete);
+    }
+
+    /**
+     * Cria os resumos dos pedidos gravados antes da existência do resumo, em lotes de {@value #BATCH_SIZE} pedidos por transação
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void summarizeMissing() {
+        int summarized = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<SalesOrder> orders = orderRepository.findWithoutSummary(PageRequest.of(0, BATCH_SIZE));
+                orders.forEach(order -> summarize(order, null));
+                return orders.size();
+            });
+            if (count == null || count == 0) {
+                break;
+            }
+            summarized += count;
+        }
+        if (summarized > 0) {
+            LOGGER.info("Resumo criado para {} pedidos", summarized);
+        }
+    }
+
+}
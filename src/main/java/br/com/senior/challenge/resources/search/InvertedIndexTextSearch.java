@@ -0,0 +1,94 @@
+package br.com.senior.challenge.resources.search;
+
+import br.com.senior.challenge.entities.Identifiable;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.ComparablePath;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.StringPath;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@link TextSearch} com índice invertido de trigramas em memória para os campos {@link TextSearchable}.
+ * O índice é construído na inicialização e restringe a consulta aos IDs candidatos, mantendo o filtro original
+ * como confirmação. Utilizado nos bancos sem índice de trigramas, como o H2
+ */
+public class InvertedIndexTextSearch implements TextSearch {
+
+    /**
+     * Acima desta quantidade de registros encontrados a busca não é seletiva e utiliza somente o filtro original
+     */
+    private static final int MAX_IDS = 1000;
+
+    private final Map<Class<?>, Map<Field, TrigramIndex>> indexes = new HashMap<>();
+
+    public InvertedIndexTextSearch(EntityManagerFactory entityManagerFactory) {
+        final EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                ReflectionUtils.doWithFields(entity.getJavaType(),
+                        field -> load(entityManager, entity, field),
+                        field -> field.isAnnotationPresent(TextSearchable.class));
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Override
+    public Predicate contains(StringPath path, String value) {
+        final PathMetadata metadata = path.getMetadata();
+        final Path<?> parent = metadata.getParent();
+        final TrigramIndex index = parent == null ? null : getIndex(parent.getType(), metadata.getName());
+        if (index == null) {
+            return path.containsIgnoreCase(value);
+        }
+        final ComparablePath<UUID> id = Expressions.comparablePath(UUID.class, parent, "id");
+        return index.search(value, MAX_IDS)
+                .map(ids -> ids.isEmpty() ? id.isNull() : ExpressionUtils.allOf(id.in(ids), path.containsIgnoreCase(value)))
+                .orElseGet(() -> path.containsIgnoreCase(value));
+    }
+
+    @Override
+    public void index(Object entity) {
+        final UUID id = ((Identifiable) entity).getId();
+        indexes.getOrDefault(entity.getClass(), Collections.emptyMap())
+                .forEach((field, index) -> index.put(id, (String) ReflectionUtils.getField(field, entity)));
+    }
+
+    @Override
+    public void remove(Object entity) {
+        final UUID id = ((Identifiable) entity).getId();
+        indexes.getOrDefault(entity.getClass(), Collections.emptyMap())
+                .values().forEach(index -> index.remove(id));
+    }
+
+    private TrigramIndex getIndex(Class<?> type, String fieldName) {
+        return indexes.getOrDefault(type, Collections.emptyMap()).entrySet().stream()
+                .filter(entry -> entry.getKey().getName().equals(fieldName))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void load(EntityManager entityManager, EntityType<?> entity, Field field) {
+        final TrigramIndex index = new TrigramIndex();
+        ReflectionUtils.makeAccessible(field);
+        entityManager.createQuery("select e.id, e." + field.getName() + " from " + entity.getName() + " e", Object[].class)
+                .getResultStream()
+                .forEach(row -> index.put((UUID) row[0], (String) row[1]));
+        indexes.computeIfAbsent(entity.getJavaType(), type -> new HashMap<>()).put(field, index);
+    }
+
+}
@@ -0,0 +1,38 @@
+package br.com.senior.challenge.resources.search;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.StringPath;
+
+/**
+ * Estratégia de busca por trecho de texto utilizada pelas bindings Querydsl ({@link TextSearchBindings})
+ */
+public interface TextSearch {
+
+    /**
+     * Cria um {@link Predicate} para registros cujo campo contenha o valor, ignorando maiúsculas e minúsculas
+     *
+     * @param path  Campo da entidade
+     * @param value Valor a ser buscado
+     * @return {@link Predicate}
+     */
+    Predicate contains(StringPath path, String value);
+
+    /**
+     * Atualiza a entidade no índice de busca, quando a estratégia mantiver um índice próprio
+     *
+     * @param entity Entidade incluída ou alterada
+     */
+    default void index(Object entity) {
+        //Noop
+    }
+
+    /**
+     * Remove a entidade do índice de busca, quando a estratégia mantiver um índice próprio
+     *
+     * @param entity Entidade excluída
+     */
+    default void remove(Object entity) {
+        //Noop
+    }
+
+}
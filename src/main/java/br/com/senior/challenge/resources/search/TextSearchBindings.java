@@ -0,0 +1,28 @@
+package br.com.senior.challenge.resources.search;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.dsl.StringPath;
+import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
+import org.springframework.data.querydsl.binding.QuerydslBindings;
+import org.springframework.data.querydsl.binding.SingleValueBinding;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bindings Querydsl dos Controllers ({@code @QuerydslPredicate(bindings = TextSearchBindings.class)}):
+ * os campos texto são filtrados por trecho pela {@link TextSearch} ativa
+ */
+@Component
+public class TextSearchBindings implements QuerydslBinderCustomizer<EntityPath<?>> {
+
+    private final TextSearch textSearch;
+
+    public TextSearchBindings(TextSearch textSearch) {
+        this.textSearch = textSearch;
+    }
+
+    @Override
+    public void customize(QuerydslBindings bindings, EntityPath<?> root) {
+        bindings.bind(String.class).first((SingleValueBinding<StringPath, String>) textSearch::contains);
+    }
+
+}
@@ -0,0 +1,48 @@
+package br.com.senior.challenge.resources.search;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Listener JPA que mantém o índice da {@link TextSearch} ativa após o commit das alterações.
+ * Instanciado pelo Hibernate através do contexto do Spring, que injeta a {@link TextSearch} somente no primeiro uso,
+ * pois ela depende do {@link javax.persistence.EntityManagerFactory} que registra o listener
+ */
+public class TextSearchListener {
+
+    private final ObjectProvider<TextSearch> textSearch;
+
+    public TextSearchListener(ObjectProvider<TextSearch> textSearch) {
+        this.textSearch = textSearch;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void index(Object entity) {
+        afterCommit(() -> textSearch.getObject().index(entity));
+    }
+
+    @PostRemove
+    public void remove(Object entity) {
+        afterCommit(() -> textSearch.getObject().remove(entity));
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+}
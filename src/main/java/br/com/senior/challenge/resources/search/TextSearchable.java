@@ -0,0 +1,12 @@
+package br.com.senior.challenge.resources.search;
+
+import java.lang.annotation.*;
+
+/**
+ * Marca um campo texto de uma entidade como indexado para busca por trecho ({@link TextSearch})
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TextSearchable {
+}
@@ -0,0 +1,95 @@
+package br.com.senior.challenge.resources.search;
+
+import java.util.*;
+
+/**
+ * Índice invertido de trigramas de um campo texto, em memória, para busca por trecho
+ */
+class TrigramIndex {
+
+    static final int GRAM = 3;
+
+    private final Map<String, Set<UUID>> postings = new HashMap<>();
+    private final Map<UUID, String> values = new HashMap<>();
+
+    /**
+     * Inclui ou substitui o valor de um registro no índice
+     *
+     * @param id    ID do registro
+     * @param value Valor do campo
+     */
+    synchronized void put(UUID id, String value) {
+        remove(id);
+        if (value == null) {
+            return;
+        }
+        final String normalized = normalize(value);
+        values.put(id, normalized);
+        for (String gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Remove um registro do índice
+     *
+     * @param id ID do registro
+     */
+    synchronized void remove(UUID id) {
+        final String value = values.remove(id);
+        if (value == null) {
+            return;
+        }
+        for (String gram : grams(value)) {
+            final Set<UUID> ids = postings.get(gram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Retorna os IDs dos registros cujo valor contém o trecho informado
+     *
+     * @param value Trecho a ser buscado, com no mínimo {@value GRAM} caracteres
+     * @param limit Quantidade máxima de registros
+     * @return IDs encontrados, ou vazio caso o trecho seja curto ou a quantidade de registros ultrapasse o limite
+     */
+    synchronized Optional<Set<UUID>> search(String value, int limit) {
+        final String normalized = normalize(value);
+        if (normalized.length() < GRAM) {
+            return Optional.empty();
+        }
+        Set<UUID> smallest = null;
+        for (String gram : grams(normalized)) {
+            final Set<UUID> ids = postings.getOrDefault(gram, Collections.emptySet());
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        final Set<UUID> result = new HashSet<>();
+        for (UUID id : smallest) {
+            if (values.get(id).contains(normalized)) {
+                if (result.size() == limit) {
+                    return Optional.empty();
+                }
+                result.add(id);
+            }
+        }
+        return Optional.of(result);
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String value) {
+        final Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+}
@@ -0,0 +1,46 @@
+package br.com.senior.challenge.resources.search;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.StringPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.Column;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Table;
+import javax.persistence.metamodel.EntityType;
+
+/**
+ * {@link TextSearch} para PostgreSQL. Cria índices GIN de trigramas (pg_trgm) sobre {@code lower(coluna)} dos campos
+ * {@link TextSearchable}, que atendem o {@code lower(coluna) like '%valor%'} gerado por {@link StringPath#containsIgnoreCase(String)}
+ */
+public class TrigramTextSearch implements TextSearch {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrigramTextSearch.class);
+
+    public TrigramTextSearch(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory, String schema) {
+        final String prefix = schema == null || schema.isEmpty() ? "" : schema + ".";
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                final Table table = entity.getJavaType().getAnnotation(Table.class);
+                ReflectionUtils.doWithFields(entity.getJavaType(), field -> {
+                    final String column = field.getAnnotation(Column.class).name();
+                    jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IDX_" + table.name() + "_" + column + "_TRGM ON "
+                            + prefix + table.name() + " USING gin (lower(" + column + ") gin_trgm_ops)");
+                }, field -> field.isAnnotationPresent(TextSearchable.class));
+            }
+        } catch (DataAccessException e) {
+            LOGGER.warn("Não foi possível criar os índices de trigramas, a busca por texto não utilizará índices", e);
+        }
+    }
+
+    @Override
+    public Predicate contains(StringPath path, String value) {
+        return path.containsIgnoreCase(value);
+    }
+
+}
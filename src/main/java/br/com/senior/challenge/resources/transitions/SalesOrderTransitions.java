@@ -0,0 +1,130 @@
+package br.com.senior.challenge.resources.transitions;
+
+import br.com.senior.challenge.entities.QSalesOrder;
+import br.com.senior.challenge.entities.QSalesOrderSummary;
+import br.com.senior.challenge.entities.enums.OrderStatus;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Alteração de status de pedidos em lote. Os pedidos são alterados em blocos de {@code sales-order.bulk.chunk-size},
+ * cada um na sua transação, com um único {@code UPDATE} no pedido e outro no resumo, restrito aos status a partir
+ * dos quais a alteração é válida conforme {@link OrderStatus#isValid}. A versão dos pedidos alterados é incrementada,
+ * invalidando as ETags e as alterações concorrentes
+ */
+@Component
+public class SalesOrderTransitions {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public SalesOrderTransitions(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                 @Value("${sales-order.bulk.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Altera o status dos pedidos informados. IDs repetidos são considerados uma única vez
+     *
+     * @param ids    IDs dos pedidos
+     * @param status Status de destino
+     * @return {@link TransitionSummary}
+     */
+    public TransitionSummary transition(Collection<UUID> ids, OrderStatus status) {
+        final TransitionSummary summary = new TransitionSummary(status);
+        final List<OrderStatus> from = validFrom(status);
+        final List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (int start = 0; start < distinct.size(); start += chunkSize) {
+            final List<UUID> chunk = distinct.subList(start, Math.min(start + chunkSize, distinct.size()));
+            final Integer updated = transactionTemplate.execute(tx -> update(chunk, status, from));
+            summary.transitioned(updated);
+            summary.rejected(chunk.size() - updated);
+        }
+        return summary;
+    }
+
+    /**
+     * Altera o status dos pedidos filtrados. Os IDs de cada bloco são lidos em ordem, a partir do último ID do bloco anterior,
+     * sem restrição de status, e os não alterados no mesmo bloco são contados como recusados
+     *
+     * @param predicate Query sobre o {@link br.com.senior.challenge.entities.SalesOrder}, a mesma da exportação
+     * @param status    Status de destino
+     * @return {@link TransitionSummary}
+     */
+    public TransitionSummary transition(Predicate predicate, OrderStatus status) {
+        final TransitionSummary summary = new TransitionSummary(status);
+        final List<OrderStatus> from = validFrom(status);
+        final QSalesOrder order = QSalesOrder.salesOrder;
+        UUID last = null;
+        while (true) {
+            final UUID after = last;
+            final List<UUID> chunk = transactionTemplate.execute(tx -> {
+                final List<UUID> ids = new JPAQuery<Void>(entityManager)
+                        .select(order.id)
+                        .from(order)
+                        .where(predicate, after == null ? null : order.id.gt(after))
+                        .orderBy(order.id.asc())
+                        .limit(chunkSize)
+                        .fetch();
+                if (!ids.isEmpty()) {
+                    final int updated = update(ids, status, from);
+                    summary.transitioned(updated);
+                    summary.rejected(ids.size() - updated);
+                }
+                return ids;
+            });
+            if (chunk == null || chunk.size() < chunkSize) {
+                break;
+            }
+            last = chunk.get(chunk.size() - 1);
+        }
+        return summary;
+    }
+
+    /**
+     * Altera o pedido e o resumo dos IDs informados que estão em um dos status de origem
+     *
+     * @return Quantidade de pedidos alterados
+     */
+    private int update(List<UUID> ids, OrderStatus status, List<OrderStatus> from) {
+        if (from.isEmpty()) {
+            return 0;
+        }
+        final QSalesOrder order = QSalesOrder.salesOrder;
+        final long updated = new JPAUpdateClause(entityManager, order)
+                .set(order.status, status)
+                .set(order.version, order.version.add(1L))
+                .where(order.id.in(ids), order.status.in(from))
+                .execute();
+        final QSalesOrderSummary summary = QSalesOrderSummary.salesOrderSummary;
+        new JPAUpdateClause(entityManager, summary)
+                .set(summary.status, status)
+                .where(summary.id.in(ids), summary.status.in(from))
+                .execute();
+        return (int) updated;
+    }
+
+    private static List<OrderStatus> validFrom(OrderStatus status) {
+        return Arrays.stream(OrderStatus.values())
+                .filter(current -> OrderStatus.isValid(current, status))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,29 @@
+package br.com.senior.challenge.resources.transitions;
+
+import br.com.senior.challenge.entities.enums.OrderStatus;
+import lombok.Getter;
+
+/**
+ * Resultado de uma alteração de status em lote: status de destino e quantidade de pedidos alterados e recusados.
+ * São recusados os pedidos não encontrados e os que não podem passar para o status de destino
+ */
+@Getter
+public class TransitionSummary {
+
+    private final OrderStatus status;
+    private int transitioned;
+    private int rejected;
+
+    public TransitionSummary(OrderStatus status) {
+        this.status = status;
+    }
+
+    void transitioned(int count) {
+        transitioned += count;
+    }
+
+    void rejected(long count) {
+        rejected += (int) count;
+    }
+
+}
@@ -0,0 +1,98 @@
+package br.com.senior.challenge.resources.uniqueness;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de textos, seguro para inclusões concorrentes. Responde se um texto certamente não foi incluído
+ * ou se pode ter sido incluído, com a taxa de falsos positivos calculada para a quantidade esperada de textos.
+ * As posições são derivadas de dois hashes de 64 bits ({@code h1 + i * h2})
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    /**
+     * Cria um filtro dimensionado para a quantidade de textos e a taxa de falsos positivos
+     *
+     * @param expectedKeys      Quantidade esperada de textos
+     * @param falsePositiveRate Taxa de falsos positivos com a quantidade esperada, entre 0 e 1
+     */
+    public BloomFilter(long expectedKeys, double falsePositiveRate) {
+        final long keys = Math.max(1, expectedKeys);
+        final long optimalBits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        final int length = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (optimalBits + 63) / 64));
+        this.words = new AtomicLongArray(length);
+        this.bits = length * 64L;
+        this.hashes = (int) Math.max(1, Math.round((double) bits / keys * Math.log(2)));
+    }
+
+    /**
+     * Inclui um texto no filtro
+     *
+     * @param key Texto
+     */
+    public void add(String key) {
+        final long h1 = hash(key);
+        final long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bits);
+            final int index = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            if ((words.get(index) & mask) == 0) {
+                words.accumulateAndGet(index, mask, (current, value) -> current | value);
+            }
+        }
+    }
+
+    /**
+     * Verifica se o texto pode ter sido incluído. Um retorno falso garante que o texto nunca foi incluído
+     *
+     * @param key Texto
+     * @return Falso se o texto certamente não foi incluído
+     */
+    public boolean mightContain(String key) {
+        final long h1 = hash(key);
+        final long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tamanho do filtro em bits
+     *
+     * @return Quantidade de bits
+     */
+    public long getBitSize() {
+        return bits;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os caracteres, com a finalização do MurmurHash3 para espalhar os bits
+     */
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
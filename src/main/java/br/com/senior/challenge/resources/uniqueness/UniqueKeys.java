@@ -0,0 +1,154 @@
+package br.com.senior.challenge.resources.uniqueness;
+
+import br.com.senior.challenge.entities.EntityConstraints;
+import br.com.senior.challenge.exceptions.ConflictException;
+import br.com.senior.challenge.resources.repositories.ItemRepository;
+import br.com.senior.challenge.resources.repositories.SalesOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Verificação antecipada das chaves únicas {@link EntityConstraints#UK_ITEM_NAME} e {@link EntityConstraints#UK_SALES_ORDER_REF}.
+ * Os nomes de itens e referências de pedidos existentes são carregados em filtros de Bloom na inicialização e
+ * incluídos a cada alteração salva. Uma chave ausente do filtro certamente não existe e dispensa a consulta, as demais
+ * são confirmadas no banco. Chaves excluídas ou alteradas permanecem no filtro, resultando somente em uma confirmação
+ * a mais. A constraint do banco continua sendo a garantia final, para inclusões concorrentes.
+ * <p>
+ * Sempre criado na inicialização, mesmo com {@code spring.main.lazy-initialization}, pois a carga percorre todas as
+ * chaves existentes e de outra forma seria paga pela primeira inclusão. As confirmações são publicadas pelo
+ * {@link br.com.senior.challenge.resources.metrics.UniqueKeysMetrics}
+ */
+@Component
+@Lazy(false)
+public class UniqueKeys {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UniqueKeys.class);
+
+    private final ItemRepository itemRepository;
+    private final SalesOrderRepository orderRepository;
+    private final BloomFilter itemNames;
+    private final BloomFilter orderReferences;
+    private final LongAdder confirmations = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public UniqueKeys(ItemRepository itemRepository, SalesOrderRepository orderRepository,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${uniqueness.expected-keys:1000000}") long expectedKeys,
+                      @Value("${uniqueness.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.itemRepository = itemRepository;
+        this.orderRepository = orderRepository;
+
+        final long start = System.nanoTime();
+        final TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        this.itemNames = load(readOnly, itemRepository.count(), expectedKeys, falsePositiveRate, itemRepository::streamAllNames);
+        this.orderReferences = load(readOnly, orderRepository.count(), expectedKeys, falsePositiveRate, orderRepository::streamAllReferences);
+        LOGGER.info("Filtros de chaves únicas carregados em {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Verifica se o nome de um item já está cadastrado. Caso esteja será lançado um {@link ConflictException}
+     *
+     * @param name Nome do item
+     */
+    public void validateItemName(String name) {
+        if (exists(itemNames, name, itemRepository::existsByName)) {
+            throw new ConflictException(EntityConstraints.UK_ITEM_NAME);
+        }
+    }
+
+    /**
+     * Verifica se a referência de um pedido já está cadastrada. Caso esteja será lançado um {@link ConflictException}
+     *
+     * @param reference Referência do pedido
+     */
+    public void validateOrderReference(String reference) {
+        if (exists(orderReferences, reference, orderRepository::existsByReference)) {
+            throw new ConflictException(EntityConstraints.UK_SALES_ORDER_REF);
+        }
+    }
+
+    /**
+     * Retorna os nomes que podem estar cadastrados e precisam ser confirmados no banco
+     *
+     * @param names Nomes de itens
+     * @return Nomes presentes no filtro
+     */
+    public List<String> filterItemNames(Collection<String> names) {
+        return names.stream().filter(itemNames::mightContain).collect(Collectors.toList());
+    }
+
+    /**
+     * Inclui o nome de um item salvo
+     *
+     * @param name Nome do item
+     */
+    public void addItemName(String name) {
+        if (name != null) {
+            itemNames.add(name);
+        }
+    }
+
+    /**
+     * Inclui a referência de um pedido salvo
+     *
+     * @param reference Referência do pedido
+     */
+    public void addOrderReference(String reference) {
+        if (reference != null) {
+            orderReferences.add(reference);
+        }
+    }
+
+    /**
+     * @return Chaves presentes no filtro que precisaram ser confirmadas no banco
+     */
+    public long getConfirmationCount() {
+        return confirmations.sum();
+    }
+
+    /**
+     * @return Confirmações em que a chave não existia no banco
+     */
+    public long getFalsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    private boolean exists(BloomFilter filter, String key, Predicate<String> confirmation) {
+        if (key == null || !filter.mightContain(key)) {
+            return false;
+        }
+        confirmations.increment();
+        final boolean exists = confirmation.test(key);
+        if (!exists) {
+            falsePositives.increment();
+        }
+        return exists;
+    }
+
+    private static BloomFilter load(TransactionTemplate readOnly, long count, long expectedKeys, double falsePositiveRate,
+                                    Supplier<Stream<String>> keys) {
+        final BloomFilter filter = new BloomFilter(Math.max(expectedKeys, 2 * count), falsePositiveRate);
+        readOnly.execute(status -> {
+            try (Stream<String> stream = keys.get()) {
+                stream.forEach(filter::add);
+            }
+            return null;
+        });
+        return filter;
+    }
+
+}
@@ -0,0 +1,176 @@
+package br.com.senior.challenge.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Mede o tempo de inicialização da aplicação, do início da JVM até a primeira requisição bem-sucedida, executada em
+ * um processo próprio com banco H2 em memória. Uma execução de treino gera o arquivo AppCDS dinâmico
+ * ({@code -XX:ArchiveClassesAtExit}), e em seguida são medidas {@code startup.runs} execuções sem e com o arquivo.
+ * <p>
+ * O classpath é formado pelo jar {@code startup.jar} e pelos jars de {@code startup.directory/lib}, em ordem fixa,
+ * pois o AppCDS exige o mesmo classpath na geração e no uso. O resumo é gravado em {@code startup.directory/startup.csv}.
+ * <p>
+ * Propriedades de sistema:
+ * <ul>
+ *     <li>{@code startup.runs}: execuções medidas por cenário (padrão 3)</li>
+ *     <li>{@code startup.request}: primeira requisição (padrão {@code /api/v1/item?size=1})</li>
+ *     <li>{@code startup.jvm-args}: argumentos adicionais da JVM da aplicação</li>
+ *     <li>{@code startup.timeout}: tempo máximo de cada inicialização (padrão 120s)</li>
+ * </ul>
+ */
+public class StartupTime {
+
+    private static final String MAIN_CLASS = "br.com.senior.challenge.SeniorChallengeApplication";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private final Path directory;
+    private final String classpath;
+    private final String request;
+    private final List<String> jvmArgs;
+    private final Duration timeout;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    public StartupTime(Path directory, Path jar, String request, List<String> jvmArgs, Duration timeout) throws IOException {
+        this.directory = directory;
+        this.request = request;
+        this.jvmArgs = jvmArgs;
+        this.timeout = timeout;
+        try (Stream<Path> lib = Files.list(directory.resolve("lib"))) {
+            this.classpath = Stream.concat(Stream.of(jar), lib.filter(path -> path.toString().endsWith(".jar")).sorted())
+                    .map(path -> path.toAbsolutePath().toString())
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Path directory = Paths.get(System.getProperty("startup.directory", "target/startup"));
+        final StartupTime startupTime = new StartupTime(directory,
+                Paths.get(System.getProperty("startup.jar")),
+                System.getProperty("startup.request", "/api/v1/item?size=1"),
+                Arrays.stream(System.getProperty("startup.jvm-args", "").split("\\s+"))
+                        .filter(arg -> !arg.isEmpty())
+                        .collect(Collectors.toList()),
+                Duration.ofSeconds(Long.getLong("startup.timeout", 120)));
+        startupTime.run(Integer.getInteger("startup.runs", 3), System.out);
+    }
+
+    public void run(int runs, PrintStream out) throws Exception {
+        final Path archive = directory.resolve("app.jsa").toAbsolutePath();
+        Files.deleteIfExists(archive);
+        final long training = measure("training", "-XX:ArchiveClassesAtExit=" + archive);
+        out.printf("Treino (gera %s): %d ms%n", archive, training);
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("Arquivo AppCDS não gerado, veja " + directory.resolve("training.log"));
+        }
+
+        final long[] withoutCds = new long[runs];
+        final long[] withCds = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            withoutCds[i] = measure("default-" + i, "-Xshare:auto");
+            withCds[i] = measure("appcds-" + i, "-XX:SharedArchiveFile=" + archive);
+        }
+
+        out.printf("%-10s %10s %10s %10s%n", "cenário", "min ms", "mediana ms", "max ms");
+        print(out, "padrão", withoutCds);
+        print(out, "appcds", withCds);
+        try (PrintStream csv = new PrintStream(Files.newOutputStream(directory.resolve("startup.csv")))) {
+            csv.println("scenario,run,millis");
+            for (int i = 0; i < runs; i++) {
+                csv.printf(Locale.ROOT, "default,%d,%d%n", i, withoutCds[i]);
+                csv.printf(Locale.ROOT, "appcds,%d,%d%n", i, withCds[i]);
+            }
+        }
+    }
+
+    /**
+     * Inicia a aplicação e aguarda a primeira resposta 2xx de {@code startup.request}. O processo é encerrado
+     * normalmente em seguida, para que o arquivo AppCDS seja gravado na execução de treino
+     *
+     * @param name    Nome da execução, usado no arquivo de log
+     * @param options Opção de CDS da JVM
+     * @return Tempo até a primeira resposta bem-sucedida, em milissegundos
+     */
+    private long measure(String name, String options) throws Exception {
+        final int port = freePort();
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add(options);
+        command.addAll(jvmArgs);
+        command.addAll(Arrays.asList("-cp", classpath, MAIN_CLASS,
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false"));
+        final Path log = directory.resolve(name + ".log");
+        final URI uri = URI.create("http://localhost:" + port + request);
+
+        final long start = System.nanoTime();
+        final Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            final long deadline = start + timeout.toNanos();
+            while (!succeeded(uri)) {
+                if (!process.isAlive() || System.nanoTime() > deadline) {
+                    throw new IllegalStateException("A aplicação não respondeu, veja " + log);
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(timeout.toSeconds(), TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private boolean succeeded(URI uri) throws InterruptedException {
+        try {
+            final HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri)
+                    .header("Accept", "application/hal+json")
+                    .timeout(timeout)
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void print(PrintStream out, String scenario, long[] millis) {
+        final long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        out.printf("%-10s %10d %10d %10d%n", scenario, sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
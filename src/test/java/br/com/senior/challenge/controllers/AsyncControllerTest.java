@@ -0,0 +1,92 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.ItemBuilder;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.utils.AsyncMvc;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Controllers com a execução assíncrona habilitada. A requisição deve ser liberada antes da resposta,
+ * mantendo os links, as mensagens de erro e as métricas da fila de execução
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class, properties = "controllers.async.enabled=true")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class AsyncControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper defaultMapper;
+
+    @Test
+    public void givenAsyncEnabled_whenGet_thenReturnLinks() throws Exception {
+        Item itemCreated = defaultMapper.readValue(perform("", HttpMethod.POST, ItemBuilder.newItem()
+                .withName("item assincrono")
+                .withType(ItemType.PRODUCT)
+                .withDescription("descrição do item assincrono")
+                .build(), status().isOk()).getResponse().getContentAsString(), Item.class);
+
+        MvcResult started = mvc.perform(MockMvcRequestBuilders.get("/item/" + itemCreated.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(started.getResponse().getContentAsString()).isEmpty();
+
+        JsonNode item = defaultMapper.readTree(perform("/" + itemCreated.getId(), HttpMethod.GET, null, status().isOk())
+                .getResponse().getContentAsString());
+        assertThat(item.at("/name").asText()).isEqualTo("item assincrono");
+        assertThat(item.at("/_links/self/href").asText()).isEqualTo("http://localhost/item/" + itemCreated.getId());
+    }
+
+    @Test
+    public void givenAsyncEnabled_whenNotFound_thenReturnError() throws Exception {
+        JsonNode error = defaultMapper.readTree(perform("/" + UUID.randomUUID(), HttpMethod.GET, null, status().isNotFound())
+                .getResponse().getContentAsString());
+        assertThat(error.at("/messages/0/message").asText()).isNotEmpty();
+    }
+
+    @Test
+    public void givenAsyncEnabled_whenScrapeMetrics_thenExposeQueue() throws Exception {
+        perform("", HttpMethod.GET, null, status().isOk());
+
+        String metrics = mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics).contains("controllers_async_queued_seconds_count", "controllers_async_waiting", "controllers_async_active",
+                "controllers_async_rejected_total", "controllers_async_expired_total");
+    }
+
+    private MvcResult perform(String url, HttpMethod method, Object item, ResultMatcher expected) throws Exception {
+        return AsyncMvc.perform(mvc, MockMvcRequestBuilders
+                .request(method, "/item" + url)
+                .content(defaultMapper.writeValueAsString(item))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(expected)
+                .andReturn();
+    }
+
+}
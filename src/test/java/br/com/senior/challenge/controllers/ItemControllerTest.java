@@ -1,10 +1,15 @@
 package br.com.senior.challenge.controllers;
 
 import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.config.DefaultMapper;
 import br.com.senior.challenge.builder.ItemBuilder;
 import br.com.senior.challenge.entities.Item;
 import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.resources.cache.ItemRepresentationCache;
+import br.com.senior.challenge.utils.AsyncMvc;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +17,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
@@ -22,8 +28,13 @@ import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -39,6 +50,9 @@ public class ItemControllerTest {
     @Autowired
     private ObjectMapper defaultMapper;
 
+    @Autowired
+    private ItemRepresentationCache representations;
+
     @Test
     public void givenItem_whenList_thenReturnOk() throws Exception {
         MvcResult mvcResult = perform("", HttpMethod.POST, getDefaultItem(), status().isOk());
@@ -64,16 +78,212 @@ public class ItemControllerTest {
         assertThat(itemCreated.getDescription()).isEqualTo(itemFound.getDescription());
     }
 
+    @Test
+    public void givenItem_whenGet_thenReturnLinks() throws Exception {
+        MvcResult mvcResult = perform("", HttpMethod.POST, getDefaultItem(), status().isOk());
+        Item itemCreated = read(mvcResult, Item.class);
+
+        mvcResult = perform("/" + itemCreated.getId() + "/deactivate", HttpMethod.POST, null, status().isOk());
+        JsonNode item = read(mvcResult, JsonNode.class);
+
+        assertThat(item.at("/_links/self/href").asText()).isEqualTo("http://localhost/item/" + itemCreated.getId());
+        assertThat(item.at("/_links/activate/href").asText()).isEqualTo("http://localhost/item/" + itemCreated.getId() + "/activate");
+        assertThat(item.at("/_links/deactivate").isMissingNode()).isTrue();
+    }
+
     @Test
     public void givenItem_whenCreate_thenReturnOk() throws Exception {
         perform("", HttpMethod.POST, getDefaultItem(), status().isOk());
     }
 
+    @Test
+    public void givenSmile_whenCreateAndGet_thenReturnSmile() throws Exception {
+        ObjectMapper smileMapper = ((DefaultMapper) defaultMapper).withFactory(new SmileFactory());
+        MediaType smile = MediaType.valueOf("application/x-jackson-smile");
+
+        MvcResult mvcResult = mvc.perform(MockMvcRequestBuilders.post("/item")
+                .content(smileMapper.writeValueAsBytes(getDefaultItem()))
+                .contentType(smile)
+                .accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andReturn();
+        Item itemCreated = smileMapper.readValue(mvcResult.getResponse().getContentAsByteArray(), Item.class);
+        assertThat(itemCreated.getName()).isEqualTo("nome do produto para teste");
+
+        mvcResult = mvc.perform(MockMvcRequestBuilders.get("/item/" + itemCreated.getId()).accept(smile))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode item = smileMapper.readTree(mvcResult.getResponse().getContentAsByteArray());
+        assertThat(smileMapper.convertValue(item.get("id"), UUID.class)).isEqualTo(itemCreated.getId());
+        assertThat(item.get("description").asText()).isEqualTo(itemCreated.getDescription());
+        assertThat(item.at("/_links/self/href").asText()).isEqualTo("http://localhost/item/" + itemCreated.getId());
+    }
+
+    @Test
+    public void givenETag_whenGetUnchanged_thenReturnNotModified() throws Exception {
+        MvcResult mvcResult = perform("", HttpMethod.POST, getDefaultItem(), status().isOk());
+        Item itemCreated = read(mvcResult, Item.class);
+        String etag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo("\"" + itemCreated.getVersion() + "\"");
+
+        mvcResult = mvc.perform(MockMvcRequestBuilders.get("/item/" + itemCreated.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(mvcResult.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+
+        itemCreated.setName("nome do produto para teste alterado");
+        perform("/" + itemCreated.getId(), HttpMethod.PUT, itemCreated, status().isOk());
+
+        mvcResult = mvc.perform(MockMvcRequestBuilders.get("/item/" + itemCreated.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(read(mvcResult, Item.class).getName()).isEqualTo("nome do produto para teste alterado");
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void givenStaleETag_whenUpdateAndDelete_thenReturnPreconditionFailed() throws Exception {
+        MvcResult mvcResult = perform("", HttpMethod.POST, getDefaultItem(), status().isOk());
+        Item item = read(mvcResult, Item.class);
+        String staleEtag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        item.setName("nome do produto para teste alterado");
+        mvcResult = mvc.perform(MockMvcRequestBuilders.put("/item/" + item.getId())
+                .header(HttpHeaders.IF_MATCH, staleEtag)
+                .content(defaultMapper.writeValueAsString(item))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        item.setName("nome do produto para teste perdido");
+        mvc.perform(MockMvcRequestBuilders.put("/item/" + item.getId())
+                .header(HttpHeaders.IF_MATCH, staleEtag)
+                .content(defaultMapper.writeValueAsString(item))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(MockMvcRequestBuilders.delete("/item/" + item.getId())
+                .header(HttpHeaders.IF_MATCH, staleEtag))
+                .andExpect(status().isPreconditionFailed());
+
+        mvcResult = perform("/" + item.getId(), HttpMethod.GET, null, status().isOk());
+        assertThat(read(mvcResult, Item.class).getName()).isEqualTo("nome do produto para teste alterado");
+
+        mvc.perform(MockMvcRequestBuilders.delete("/item/" + item.getId())
+                .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void givenItems_whenListUnchanged_thenReturnWeakETagAndNotModified() throws Exception {
+        perform("", HttpMethod.POST, getDefaultItem(), status().isOk());
+
+        MvcResult mvcResult = perform("", HttpMethod.GET, null, status().isOk());
+        String etag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+
+        mvc.perform(MockMvcRequestBuilders.get("/item").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void givenItem_whenGetTwiceAndList_thenReuseSerializedRepresentation() throws Exception {
+        MvcResult mvcResult = perform("", HttpMethod.POST, getDefaultItem(), status().isOk());
+        Item itemCreated = read(mvcResult, Item.class);
+
+        byte[] first = perform("/" + itemCreated.getId(), HttpMethod.GET, null, status().isOk()).getResponse().getContentAsByteArray();
+        mvcResult = perform("/" + itemCreated.getId(), HttpMethod.GET, null, status().isOk());
+        assertThat(mvcResult.getResponse().getContentAsByteArray()).isEqualTo(first);
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + itemCreated.getVersion() + "\"");
+        assertThat(representations.getMissCount()).isEqualTo(1);
+        assertThat(representations.getHitCount()).isEqualTo(1);
+        assertThat(representations.getWeightedSize()).isEqualTo(first.length);
+
+        JsonNode page = defaultMapper.readTree(perform("", HttpMethod.GET, null, status().isOk()).getResponse().getContentAsByteArray());
+        assertThat(page.at("/_embedded/itens/0")).isEqualTo(defaultMapper.readTree(first));
+        assertThat(representations.getHitCount()).isEqualTo(2);
+
+        itemCreated.setName("nome do produto para teste alterado");
+        perform("/" + itemCreated.getId(), HttpMethod.PUT, itemCreated, status().isOk());
+
+        mvcResult = perform("/" + itemCreated.getId(), HttpMethod.GET, null, status().isOk());
+        assertThat(read(mvcResult, Item.class).getName()).isEqualTo("nome do produto para teste alterado");
+        assertThat(representations.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenCsv_whenImport_thenImportValidRowsAndReportFailures() throws Exception {
+        perform("", HttpMethod.POST, getDefaultItem(), status().isOk());
+        String csv = "type,name,description\r\n"
+                + "PRODUCT,produto importado um,descrição do produto importado\r\n"
+                + "service,\"serviço, \"\"importado\"\" dois\",\"descrição\r\nem duas linhas\"\r\n"
+                + "PRODUCT,curto,descrição do produto curto\r\n"
+                + "OTHER,produto com tipo inválido,descrição do produto inválido\r\n"
+                + "PRODUCT,produto importado um,descrição do produto repetido\r\n"
+                + "PRODUCT,nome do produto para teste,descrição do produto já cadastrado\r\n";
+
+        MvcResult mvcResult = mvc.perform(MockMvcRequestBuilders.post("/item/import")
+                .content(csv.getBytes(StandardCharsets.UTF_8))
+                .contentType("text/csv"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode summary = defaultMapper.readTree(mvcResult.getResponse().getContentAsByteArray());
+
+        assertThat(summary.get("read").asInt()).isEqualTo(6);
+        assertThat(summary.get("imported").asInt()).isEqualTo(2);
+        assertThat(summary.get("failed").asInt()).isEqualTo(4);
+        assertThat(summary.findValuesAsText("field")).containsExactly("[5].name", "[6]", "[7]", "[8]");
+        assertThat(search("importado")).isEqualTo(2);
+
+        mvcResult = perform("?name=dois", HttpMethod.GET, null, status().isOk());
+        JsonNode item = defaultMapper.readTree(mvcResult.getResponse().getContentAsByteArray()).at("/_embedded/itens/0");
+        assertThat(item.get("name").asText()).isEqualTo("serviço, \"importado\" dois");
+        assertThat(item.get("description").asText()).isEqualTo("descrição\r\nem duas linhas");
+        assertThat(item.get("type").asText()).isEqualTo("SERVICE");
+        perform("/" + item.get("id").asText(), HttpMethod.GET, null, status().isOk());
+    }
+
+    @Test
+    public void givenNdjson_whenImport_thenImportValidRowsAndReportFailures() throws Exception {
+        String ndjson = defaultMapper.writeValueAsString(getDefaultItem()) + "\n"
+                + "\n"
+                + "{\"name\":\n"
+                + "{\"name\":\"produto com tipo inválido\",\"type\":\"OTHER\",\"description\":\"descrição do produto\"}\n";
+
+        MvcResult mvcResult = mvc.perform(MockMvcRequestBuilders.post("/item/import")
+                .content(ndjson.getBytes(StandardCharsets.UTF_8))
+                .contentType("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode summary = defaultMapper.readTree(mvcResult.getResponse().getContentAsByteArray());
+
+        assertThat(summary.get("read").asInt()).isEqualTo(3);
+        assertThat(summary.get("imported").asInt()).isEqualTo(1);
+        assertThat(summary.findValuesAsText("field")).containsExactly("[3]", "[4]");
+        assertThat(summary.findValuesAsText("message")).containsExactly("O formato da linha é inválido.", "O formato do campo type é inválido.");
+        assertThat(search("teste")).isEqualTo(1);
+    }
+
     @Test
     public void givenWrongJson_whenCreate_thenThrow() throws Exception {
         perform("", HttpMethod.POST, "{\"id\":}", status().isBadRequest());
     }
 
+    @Test
+    public void givenItem_whenCreateWithSameName_thenReturnConflict() throws Exception {
+
+        perform("", HttpMethod.POST, getDefaultItem(), status().isOk());
+        MvcResult mvcResult = perform("", HttpMethod.POST, getDefaultItem(), status().isConflict());
+
+        JsonNode error = defaultMapper.readTree(mvcResult.getResponse().getContentAsByteArray());
+        assertThat(error.toString()).contains("Já existe um item cadastrado com o mesmo nome informado.");
+        assertThat(perform("", HttpMethod.GET, null, status().isOk()).getResponse().getContentAsString()).contains("\"totalElements\":1");
+    }
+
     @Test
     public void givenItem_whenUpdate_thenReturnOk() throws Exception {
 
@@ -147,6 +357,101 @@ public class ItemControllerTest {
         perform("/" + itemToDeactivate.getId() + "/deactivate", HttpMethod.POST, itemToDeactivate, status().isUnprocessableEntity());
     }
 
+    @Test
+    public void givenItems_whenListAfterCursor_thenReturnNextPages() throws Exception {
+        for (String name : Arrays.asList("item de teste A", "item de teste B", "item de teste C", "outro item de teste")) {
+            Item item = getDefaultItem();
+            item.setName(name);
+            perform("", HttpMethod.POST, item, status().isOk());
+        }
+
+        MvcResult mvcResult = perform("?name=item de teste&sort=name,desc&size=2&after=", HttpMethod.GET, null, status().isOk());
+        JsonNode page = read(mvcResult, JsonNode.class);
+        assertThat(page.at("/_embedded/itens/0/name").asText()).isEqualTo("outro item de teste");
+        assertThat(page.at("/_embedded/itens/1/name").asText()).isEqualTo("item de teste C");
+        String next = page.at("/_links/next/href").asText();
+        assertThat(next).contains("after=");
+
+        mvcResult = mvc.perform(MockMvcRequestBuilders.get(URI.create(next))).andExpect(status().isOk()).andReturn();
+        page = read(mvcResult, JsonNode.class);
+        assertThat(page.at("/_embedded/itens").size()).isEqualTo(2);
+        assertThat(page.at("/_embedded/itens/0/name").asText()).isEqualTo("item de teste B");
+        assertThat(page.at("/_embedded/itens/1/name").asText()).isEqualTo("item de teste A");
+        assertThat(page.at("/_links/next").isMissingNode()).isTrue();
+    }
+
+    @Test
+    public void givenItems_whenStream_thenReturnAllPagesOnDemand() throws Exception {
+        for (String name : Arrays.asList("item de teste A", "item de teste B", "item de teste C", "outro item de teste")) {
+            Item item = getDefaultItem();
+            item.setName(name);
+            perform("", HttpMethod.POST, item, status().isOk());
+        }
+
+        String stream = AsyncMvc.perform(mvc, MockMvcRequestBuilders.get("/item?name=item de teste&sort=name,desc&size=3")
+                .accept(MediaType.APPLICATION_STREAM_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_STREAM_JSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = stream.split("\n");
+        assertThat(lines).hasSize(4);
+        JsonNode first = defaultMapper.readTree(lines[0]);
+        assertThat(first.at("/name").asText()).isEqualTo("outro item de teste");
+        assertThat(first.at("/_links/self/href").asText()).startsWith("http://localhost/item/");
+        assertThat(defaultMapper.readTree(lines[3]).at("/name").asText()).isEqualTo("item de teste A");
+    }
+
+    @Test
+    public void givenInvalidCursor_whenList_thenReturnNotProcessed() throws Exception {
+        perform("?after=invalido", HttpMethod.GET, null, status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void givenItems_whenSearchByName_thenIndexFollowsChanges() throws Exception {
+        Item item = getDefaultItem();
+        item.setName("parafuso sextavado inox");
+        MvcResult mvcResult = perform("", HttpMethod.POST, item, status().isOk());
+        Item itemCreated = read(mvcResult, Item.class);
+
+        item = getDefaultItem();
+        item.setName("porca sextavada zincada");
+        perform("", HttpMethod.POST, item, status().isOk());
+
+        assertThat(search("SEXTAVAD")).isEqualTo(2);
+        assertThat(search("fuso sext")).isEqualTo(1);
+
+        itemCreated.setName("arruela lisa de pressão");
+        perform("/" + itemCreated.getId(), HttpMethod.PUT, itemCreated, status().isOk());
+
+        assertThat(search("parafuso")).isEqualTo(0);
+        assertThat(search("arruela")).isEqualTo(1);
+
+        perform("/" + itemCreated.getId(), HttpMethod.DELETE, itemCreated, status().isOk());
+
+        assertThat(search("arruela")).isEqualTo(0);
+        assertThat(search("sextavad")).isEqualTo(1);
+    }
+
+    @Test
+    public void givenItem_whenScrapeMetrics_thenExposeRulesRepositoryAndHibernate() throws Exception {
+        MvcResult mvcResult = perform("", HttpMethod.POST, getDefaultItem(), status().isOk());
+        Item itemCreated = read(mvcResult, Item.class);
+        perform("/" + itemCreated.getId(), HttpMethod.GET, null, status().isOk());
+
+        String metrics = mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics).contains("rules_calls_seconds_count{application=\"senior-challenge\",class=\"ItemRules\",exception=\"none\",method=\"createAndSave\",}");
+        assertThat(metrics).contains("repository_calls_seconds_count{application=\"senior-challenge\",exception=\"none\",method=\"save\",repository=\"ItemRepository\",}");
+        assertThat(metrics).contains("hibernate_statements_total", "hibernate_entities_loads_total", "hibernate_flushes_total", "hibernate_second_level_cache_requests_total");
+    }
+
+    private long search(String name) throws Exception {
+        MvcResult mvcResult = perform("?name=" + name, HttpMethod.GET, null, status().isOk());
+        return read(mvcResult, PagedModel.class).getMetadata().getTotalElements();
+    }
+
     private Item getDefaultItem() {
         return ItemBuilder.newItem()
                 .withName("nome do produto para teste")
@@ -0,0 +1,54 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.entities.EntityCacheRegions;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.utils.ControllerTestSupport;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache de segundo nível dos itens consultado na inclusão de itens do pedido, atualizado quando o item é alterado
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ItemSecondLevelCacheTest extends ControllerTestSupport {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void givenCachedItem_whenDeactivate_thenCreateReturnNotProcessed() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        Item itemCreated = getDefaultItem("", ItemType.PRODUCT);
+
+        performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, itemCreated), status().isOk());
+        performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, itemCreated), status().isOk());
+        assertThat(getItemCacheHits()).isGreaterThanOrEqualTo(1);
+
+        performItem("/" + itemCreated.getId() + "/deactivate", HttpMethod.POST, itemCreated, status().isOk());
+
+        performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, itemCreated), status().isUnprocessableEntity());
+    }
+
+    private long getItemCacheHits() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getDomainDataRegionStatistics(EntityCacheRegions.ITEM).getHitCount();
+    }
+
+}
@@ -0,0 +1,104 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.enums.OrderStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Atendimento e cancelamento de pedidos em lote, por IDs ou por filtro, com a contagem dos pedidos alterados e recusados
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderBulkTransitionTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper defaultMapper;
+
+    @Test
+    public void givenSalesOrders_whenBulkFulfillAndCancel_thenReturnCounts() throws Exception {
+        SalesOrder first = createSalesOrder("referencia 1");
+        SalesOrder second = createSalesOrder("referencia 2");
+        SalesOrder canceled = createSalesOrder("referencia 3");
+        SalesOrder remaining = createSalesOrder("referencia 4");
+        perform("/" + canceled.getId() + "/cancel", HttpMethod.POST, null, status().isOk());
+
+        MvcResult mvcResult = perform("/fulfill", HttpMethod.POST,
+                Arrays.asList(first.getId(), second.getId(), canceled.getId(), first.getId(), UUID.randomUUID()), status().isOk());
+        JsonNode summary = defaultMapper.readTree(mvcResult.getResponse().getContentAsByteArray());
+        assertThat(summary.get("status").asText()).isEqualTo(OrderStatus.FULLFILLED.name());
+        assertThat(summary.get("transitioned").asInt()).isEqualTo(2);
+        assertThat(summary.get("rejected").asInt()).isEqualTo(2);
+
+        SalesOrder fulfilled = read(perform("/" + first.getId(), HttpMethod.GET, null, status().isOk()), SalesOrder.class);
+        assertThat(fulfilled.getStatus()).isEqualTo(OrderStatus.FULLFILLED);
+        assertThat(fulfilled.getVersion()).isGreaterThan(first.getVersion());
+
+        mvcResult = perform("/cancel?status=" + OrderStatus.OPENNED, HttpMethod.POST, null, status().isOk());
+        summary = defaultMapper.readTree(mvcResult.getResponse().getContentAsByteArray());
+        assertThat(summary.get("transitioned").asInt()).isEqualTo(1);
+        assertThat(summary.get("rejected").asInt()).isEqualTo(0);
+        assertThat(read(perform("/" + remaining.getId(), HttpMethod.GET, null, status().isOk()), SalesOrder.class).getStatus())
+                .isEqualTo(OrderStatus.CANCELED);
+
+        mvcResult = perform("/cancel?status=" + OrderStatus.FULLFILLED, HttpMethod.POST, null, status().isOk());
+        summary = defaultMapper.readTree(mvcResult.getResponse().getContentAsByteArray());
+        assertThat(summary.get("transitioned").asInt()).isEqualTo(0);
+        assertThat(summary.get("rejected").asInt()).isEqualTo(2);
+
+        perform("/cancel", HttpMethod.POST, null, status().isUnprocessableEntity());
+    }
+
+    private SalesOrder createSalesOrder(String reference) throws Exception {
+        SalesOrder salesOrder = getDefaultSalesOrder();
+        salesOrder.setReference(reference);
+        return read(perform("", HttpMethod.POST, salesOrder, status().isOk()), SalesOrder.class);
+    }
+
+    private SalesOrder getDefaultSalesOrder() {
+        return SalesOrderBuilder.newSalesOrder()
+                .withReference("referencia de teste")
+                .withComments("comentário de teste")
+                .build();
+    }
+
+    private MvcResult perform(String url, HttpMethod method, Object salesOrder, ResultMatcher expected) throws Exception {
+        return mvc.perform(MockMvcRequestBuilders
+                .request(method, "/sales-order" + url)
+                .content(defaultMapper.writeValueAsString(salesOrder))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(expected)
+                .andReturn();
+    }
+
+    private <T> T read(MvcResult mvcResult, Class<T> clazz) throws com.fasterxml.jackson.core.JsonProcessingException, UnsupportedEncodingException {
+        return defaultMapper.readValue(mvcResult.getResponse().getContentAsString(), clazz);
+    }
+
+}
@@ -0,0 +1,138 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.ItemBuilder;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.builder.SalesOrderItemBuilder;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.resources.rules.SalesOrderRules;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Alterações concorrentes de itens de um mesmo pedido. Os totais do pedido devem conferir com os itens salvos,
+ * sem que nenhuma alteração seja perdida
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderConcurrencyTest {
+
+    private static final int WRITERS = 64;
+    private static final int LINES_PER_WRITER = 4;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper defaultMapper;
+
+    @Autowired
+    private SalesOrderRules orderRules;
+
+    @Test
+    public void givenConcurrentWriters_whenAddItens_thenTotalsMatchItens() throws Exception {
+        SalesOrder order = read(perform("/sales-order", HttpMethod.POST, SalesOrderBuilder.newSalesOrder()
+                .withReference("pedido concorrente")
+                .build()), SalesOrder.class);
+        Item product = createItem("produto concorrente", ItemType.PRODUCT);
+        Item service = createItem("serviço concorrente", ItemType.SERVICE);
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> writers = new ArrayList<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            final int index = writer;
+            writers.add(executor.submit(() -> {
+                start.await();
+                int saved = 0;
+                for (int line = 0; line < LINES_PER_WRITER; line++) {
+                    SalesOrderItem orderItem = SalesOrderItemBuilder.newSalesOrder()
+                            .withSalesOrder(order)
+                            .withItem(index % 2 == 0 ? product : service)
+                            .withPrice(BigDecimal.valueOf(index + 1))
+                            .withQuantity(BigDecimal.valueOf(line + 1))
+                            .build();
+                    int status = perform("/sales-order/" + order.getId() + "/item", HttpMethod.POST, orderItem)
+                            .getResponse().getStatus();
+                    assertThat(status).isEqualTo(200);
+                    saved++;
+                }
+                return saved;
+            }));
+        }
+
+        start.countDown();
+        int saved = 0;
+        for (Future<Integer> writer : writers) {
+            saved += writer.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        BigDecimal products = BigDecimal.ZERO;
+        BigDecimal services = BigDecimal.ZERO;
+        BigDecimal lines = BigDecimal.valueOf(LINES_PER_WRITER * (LINES_PER_WRITER + 1) / 2);
+        for (int writer = 0; writer < WRITERS; writer++) {
+            BigDecimal amount = BigDecimal.valueOf(writer + 1).multiply(lines);
+            if (writer % 2 == 0) {
+                products = products.add(amount);
+            } else {
+                services = services.add(amount);
+            }
+        }
+
+        JsonNode stored = read(perform("/sales-order/" + order.getId(), HttpMethod.GET, null), JsonNode.class);
+        assertThat(saved).isEqualTo(WRITERS * LINES_PER_WRITER);
+        assertThat(stored.at("/productsAmount").decimalValue()).isEqualByComparingTo(products);
+        assertThat(stored.at("/servicesAmount").decimalValue()).isEqualByComparingTo(services);
+        assertThat(stored.at("/total").decimalValue()).isEqualByComparingTo(products.add(services));
+        assertThat(orderRules.isConsistent(order.getId())).isTrue();
+    }
+
+    private Item createItem(String name, ItemType type) throws Exception {
+        return read(perform("/item", HttpMethod.POST, ItemBuilder.newItem()
+                .withName(name)
+                .withType(type)
+                .withDescription("descrição do item concorrente")
+                .build()), Item.class);
+    }
+
+    private MvcResult perform(String url, HttpMethod method, Object content) throws Exception {
+        return mvc.perform(MockMvcRequestBuilders
+                .request(method, url)
+                .content(defaultMapper.writeValueAsString(content))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+    }
+
+    private <T> T read(MvcResult mvcResult, Class<T> clazz) throws Exception {
+        return defaultMapper.readValue(mvcResult.getResponse().getContentAsString(), clazz);
+    }
+
+}
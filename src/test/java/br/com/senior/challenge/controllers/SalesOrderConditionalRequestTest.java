@@ -0,0 +1,92 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.entities.SalesOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.UnsupportedEncodingException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requisições condicionais do pedido pela sua versão ({@code ETag}): consulta não modificada e alteração sobre versão desatualizada
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper defaultMapper;
+
+    @Test
+    public void givenStaleETag_whenGetAndUpdate_thenReturnModifiedAndPreconditionFailed() throws Exception {
+
+        MvcResult mvcResult = perform("", HttpMethod.POST, getDefaultSalesOrder(), status().isOk());
+        SalesOrder salesOrder = read(mvcResult, SalesOrder.class);
+        String staleEtag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(MockMvcRequestBuilders.get("/sales-order/" + salesOrder.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, staleEtag))
+                .andExpect(status().isNotModified());
+
+        salesOrder.setReference("nova referencia");
+        perform("/" + salesOrder.getId(), HttpMethod.PUT, salesOrder, status().isOk());
+
+        mvcResult = mvc.perform(MockMvcRequestBuilders.get("/sales-order/" + salesOrder.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, staleEtag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(read(mvcResult, SalesOrder.class).getReference()).isEqualTo("nova referencia");
+
+        salesOrder.setReference("referencia perdida");
+        mvc.perform(MockMvcRequestBuilders.put("/sales-order/" + salesOrder.getId())
+                .header(HttpHeaders.IF_MATCH, staleEtag)
+                .content(defaultMapper.writeValueAsString(salesOrder))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(MockMvcRequestBuilders.delete("/sales-order/" + salesOrder.getId())
+                .header(HttpHeaders.IF_MATCH, staleEtag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private SalesOrder getDefaultSalesOrder() {
+        return SalesOrderBuilder.newSalesOrder()
+                .withReference("referencia de teste")
+                .withComments("comentário de teste")
+                .build();
+    }
+
+    private MvcResult perform(String url, HttpMethod method, Object salesOrder, ResultMatcher expected) throws Exception {
+        return mvc.perform(MockMvcRequestBuilders
+                .request(method, "/sales-order" + url)
+                .content(defaultMapper.writeValueAsString(salesOrder))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(expected)
+                .andReturn();
+    }
+
+    private <T> T read(MvcResult mvcResult, Class<T> clazz) throws com.fasterxml.jackson.core.JsonProcessingException, UnsupportedEncodingException {
+        return defaultMapper.readValue(mvcResult.getResponse().getContentAsString(), clazz);
+    }
+
+}
@@ -0,0 +1,62 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.utils.ControllerTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Consulta do pedido com os itens incorporados ({@code embed=itens}), limitados a {@code sales-order.embed.max-itens} e com link para os demais
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class, properties = "sales-order.embed.max-itens=2")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderEmbedTest extends ControllerTestSupport {
+
+    @Test
+    public void givenSalesOrderItems_whenGetWithEmbed_thenReturnBoundedItensAndContinuation() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        for (int i = 0; i < 3; i++) {
+            performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, getDefaultItem(String.valueOf(i), ItemType.PRODUCT)), status().isOk());
+        }
+
+        MvcResult mvcResult = performOrder("/" + salesOrderCreated.getId() + "?embed=itens", HttpMethod.GET, null, status().isOk());
+        JsonNode order = read(mvcResult, JsonNode.class);
+        assertThat(order.get("reference").asText()).isEqualTo("referencia de teste");
+        assertThat(order.at("/_links/self/href").asText()).isEqualTo("http://localhost/sales-order/" + salesOrderCreated.getId());
+        JsonNode itens = order.at("/_embedded/sales-order-itens");
+        assertThat(itens.size()).isEqualTo(2);
+        assertThat(itens.at("/0/item/name").asText()).isNotEmpty();
+        assertThat(itens.at("/0/_links/self/href").asText()).startsWith("http://localhost/sales-order/" + salesOrderCreated.getId() + "/item/");
+
+        String next = order.at("/_links/itens-next/href").asText();
+        assertThat(next).startsWith("http://localhost/sales-order/" + salesOrderCreated.getId() + "/item?after=");
+        mvcResult = mvc.perform(MockMvcRequestBuilders.get(next.substring("http://localhost".length()))).andExpect(status().isOk()).andReturn();
+        JsonNode remaining = read(mvcResult, JsonNode.class).at("/_embedded/sales-order-itens");
+        assertThat(remaining.size()).isEqualTo(1);
+        assertThat(remaining.at("/0/id").asText()).isNotIn(itens.at("/0/id").asText(), itens.at("/1/id").asText());
+
+        SalesOrder emptyOrder = read(performOrder("", HttpMethod.POST, SalesOrderBuilder.newSalesOrder()
+                .withReference("pedido sem itens")
+                .build(), status().isOk()), SalesOrder.class);
+        mvcResult = performOrder("/" + emptyOrder.getId() + "?embed=itens", HttpMethod.GET, null, status().isOk());
+        order = read(mvcResult, JsonNode.class);
+        assertThat(order.has("_embedded")).isFalse();
+        assertThat(order.at("/_links/itens-next").isMissingNode()).isTrue();
+    }
+
+}
@@ -0,0 +1,135 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.utils.ControllerTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exportação dos pedidos com seus itens em NDJSON e CSV
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderExportTest extends ControllerTestSupport {
+
+    @Test
+    public void givenSalesOrdersWithItems_whenExport_thenStreamOrdersWithItems() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, getDefaultItem("1", ItemType.PRODUCT)), status().isOk());
+        performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, getDefaultItem("2", ItemType.SERVICE)), status().isOk());
+        SalesOrder emptyOrder = SalesOrderBuilder.newSalesOrder()
+                .withReference("pedido sem itens, \"exportado\"")
+                .build();
+        performOrder("", HttpMethod.POST, emptyOrder, status().isOk());
+
+        String ndjson = mvc.perform(MockMvcRequestBuilders.get("/sales-order/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] orders = ndjson.split("\n");
+        assertThat(orders).hasSize(2);
+        JsonNode exported = defaultMapper.readTree(orders[0]).get("id").asText().equals(salesOrderCreated.getId().toString())
+                ? defaultMapper.readTree(orders[0]) : defaultMapper.readTree(orders[1]);
+        assertThat(exported.get("itens").size()).isEqualTo(2);
+        assertThat(exported.at("/itens/0/item/name").asText()).isNotEmpty();
+
+        ndjson = mvc.perform(MockMvcRequestBuilders.get("/sales-order/export?reference=sem itens"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(ndjson.split("\n")).hasSize(1);
+        assertThat(defaultMapper.readTree(ndjson).get("itens").size()).isEqualTo(0);
+
+        String csv = mvc.perform(MockMvcRequestBuilders.get("/sales-order/export").accept("text/csv"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] rows = csv.split("\r\n");
+        assertThat(rows).hasSize(4);
+        assertThat(rows[0]).startsWith("order_id,reference");
+        assertThat(csv).contains("\"pedido sem itens, \"\"exportado\"\"\"");
+    }
+
+    @Test
+    public void givenSpecialCharacters_whenExportCsv_thenQuoteAndEscapeFields() throws Exception {
+        performOrder("", HttpMethod.POST, SalesOrderBuilder.newSalesOrder()
+                .withReference("referencia, com \"aspas\"")
+                .withComments("primeira linha\nsegunda linha")
+                .build(), status().isOk());
+
+        String csv = mvc.perform(MockMvcRequestBuilders.get("/sales-order/export").accept("text/csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+        String[] rows = csv.split("\r\n");
+        assertThat(rows).hasSize(2);
+        assertThat(rows[1]).contains(",\"referencia, com \"\"aspas\"\"\",\"primeira linha\nsegunda linha\",");
+    }
+
+    @Test
+    public void givenSalesOrderWithoutItens_whenExportCsv_thenWriteOrderRowWithEmptyItemColumns() throws Exception {
+        SalesOrder emptyOrder = read(performOrder("", HttpMethod.POST, SalesOrderBuilder.newSalesOrder()
+                .withReference("pedido sem itens")
+                .build(), status().isOk()), SalesOrder.class);
+
+        String csv = mvc.perform(MockMvcRequestBuilders.get("/sales-order/export").accept("text/csv"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] rows = csv.split("\r\n");
+        assertThat(rows).hasSize(2);
+        String[] header = rows[0].split(",", -1);
+        String[] columns = rows[1].split(",", -1);
+        assertThat(columns).hasSameSizeAs(header);
+        assertThat(columns[0]).isEqualTo(emptyOrder.getId().toString());
+        assertThat(columns[1]).isEqualTo("pedido sem itens");
+        assertThat(columns[Arrays.asList(header).indexOf("status")]).isEqualTo(emptyOrder.getStatus().name());
+        assertThat(Arrays.copyOfRange(columns, Arrays.asList(header).indexOf("line_id"), columns.length)).containsOnly("");
+    }
+
+    @Test
+    public void givenSalesOrderWithItens_whenExportNdjson_thenNestItensInOrder() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        Item product = getDefaultItem("1", ItemType.PRODUCT);
+        SalesOrderItem line = read(performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST,
+                getDefaultSalesOrderItem(salesOrderCreated, product), status().isOk()), SalesOrderItem.class);
+
+        String ndjson = mvc.perform(MockMvcRequestBuilders.get("/sales-order/export"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(ndjson).endsWith("\n");
+        JsonNode order = defaultMapper.readTree(ndjson.split("\n")[0]);
+        assertThat(order.get("id").asText()).isEqualTo(salesOrderCreated.getId().toString());
+        assertThat(order.get("reference").asText()).isEqualTo("referencia de teste");
+        assertThat(order.get("total").decimalValue()).isEqualByComparingTo("199.90");
+        assertThat(order.has("_links")).isFalse();
+
+        JsonNode itens = order.get("itens");
+        assertThat(itens.isArray()).isTrue();
+        assertThat(itens.size()).isEqualTo(1);
+        JsonNode exportedLine = itens.get(0);
+        assertThat(exportedLine.get("id").asText()).isEqualTo(line.getId().toString());
+        assertThat(exportedLine.get("quantity").decimalValue()).isEqualByComparingTo("10");
+        assertThat(exportedLine.get("price").decimalValue()).isEqualByComparingTo("19.99");
+        assertThat(exportedLine.at("/item/id").asText()).isEqualTo(product.getId().toString());
+        assertThat(exportedLine.at("/item/name").asText()).isEqualTo(product.getName());
+        assertThat(exportedLine.has("order")).isFalse();
+    }
+
+}
@@ -0,0 +1,110 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.resources.rules.SalesOrderRules;
+import br.com.senior.challenge.utils.ControllerTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Inclusão de itens do pedido em lote, com os erros de validação indicados pela posição de cada item
+ * e o tamanho do lote limitado por {@code sales-order.item.batch.max-size}
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class, properties = "sales-order.item.batch.max-size=3")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderItemBatchTest extends ControllerTestSupport {
+
+    @Autowired
+    private SalesOrderRules orderRules;
+
+    @Test
+    public void givenSalesOrderItems_whenCreateBatch_thenReturnOk() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        Item product = getDefaultItem("produto", ItemType.PRODUCT);
+        Item service = getDefaultItem("servico", ItemType.SERVICE);
+        List<SalesOrderItem> orderItems = Arrays.asList(
+                getDefaultSalesOrderItem(salesOrderCreated, product),
+                getDefaultSalesOrderItem(salesOrderCreated, service));
+
+        MvcResult mvcResult = performOrder("/" + salesOrderCreated.getId() + "/item/batch", HttpMethod.POST, orderItems, status().isOk());
+        JsonNode created = read(mvcResult, JsonNode.class);
+        assertThat(created.at("/_embedded/sales-order-itens").size()).isEqualTo(2);
+        assertThat(orderRules.isConsistent(salesOrderCreated.getId())).isTrue();
+
+        mvcResult = performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.GET, null, status().isOk());
+        PagedModel pagedModel = read(mvcResult, PagedModel.class);
+        assertThat(pagedModel.getMetadata().getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenInvalidSalesOrderItems_whenCreateBatch_thenReturnErrorsPerItem() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        Item product = getDefaultItem("produto", ItemType.PRODUCT);
+        Item deactivated = getDefaultItem("desativado", ItemType.PRODUCT, false);
+        SalesOrderItem withoutPrice = getDefaultSalesOrderItem(salesOrderCreated, product);
+        withoutPrice.setPrice(null);
+        List<SalesOrderItem> orderItems = Arrays.asList(
+                getDefaultSalesOrderItem(salesOrderCreated, product),
+                withoutPrice,
+                getDefaultSalesOrderItem(salesOrderCreated, deactivated));
+
+        MvcResult mvcResult = performOrder("/" + salesOrderCreated.getId() + "/item/batch", HttpMethod.POST, orderItems, status().isUnprocessableEntity());
+        JsonNode errors = read(mvcResult, JsonNode.class).get("messages");
+        assertThat(errors.size()).isEqualTo(2);
+        assertThat(errors.get(0).get("field").asText()).isEqualTo("[1].price");
+        assertThat(errors.get(1).get("field").asText()).isEqualTo("[2]");
+
+        mvcResult = performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.GET, null, status().isOk());
+        PagedModel pagedModel = read(mvcResult, PagedModel.class);
+        assertThat(pagedModel.getMetadata().getTotalElements()).isEqualTo(0);
+    }
+
+    @Test
+    public void givenNullSalesOrderItem_whenCreateBatch_thenReturnErrorForItem() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        Item product = getDefaultItem("produto", ItemType.PRODUCT);
+        List<SalesOrderItem> orderItems = Arrays.asList(getDefaultSalesOrderItem(salesOrderCreated, product), null);
+
+        MvcResult mvcResult = performOrder("/" + salesOrderCreated.getId() + "/item/batch", HttpMethod.POST, orderItems, status().isUnprocessableEntity());
+        JsonNode errors = read(mvcResult, JsonNode.class).get("messages");
+        assertThat(errors.size()).isEqualTo(1);
+        assertThat(errors.get(0).get("field").asText()).isEqualTo("[1]");
+        assertThat(errors.get(0).get("message").asText()).isNotEmpty();
+    }
+
+    @Test
+    public void givenTooManySalesOrderItems_whenCreateBatch_thenReturnNotProcessed() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        Item product = getDefaultItem("produto", ItemType.PRODUCT);
+        List<SalesOrderItem> orderItems = Collections.nCopies(4, getDefaultSalesOrderItem(salesOrderCreated, product));
+
+        MvcResult mvcResult = performOrder("/" + salesOrderCreated.getId() + "/item/batch", HttpMethod.POST, orderItems, status().isUnprocessableEntity());
+        assertThat(read(mvcResult, JsonNode.class).at("/messages/0/message").asText()).contains("3");
+
+        mvcResult = performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.GET, null, status().isOk());
+        PagedModel pagedModel = read(mvcResult, PagedModel.class);
+        assertThat(pagedModel.getMetadata().getTotalElements()).isEqualTo(0);
+    }
+
+}
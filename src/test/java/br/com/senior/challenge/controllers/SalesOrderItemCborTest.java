@@ -0,0 +1,58 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.config.DefaultMapper;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.utils.ControllerTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Inclusão de itens do pedido em CBOR, com o item referenciado pela sua URI
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderItemCborTest extends ControllerTestSupport {
+
+    @Test
+    public void givenCbor_whenCreateWithItemUri_thenReturnCbor() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        Item product = getDefaultItem("produto", ItemType.PRODUCT);
+        ObjectMapper cborMapper = ((DefaultMapper) defaultMapper).withFactory(new CBORFactory());
+        ObjectNode orderItem = cborMapper.createObjectNode()
+                .put("item", "http://localhost/item/" + product.getId())
+                .put("price", 19.99)
+                .put("quantity", 10);
+
+        MvcResult mvcResult = mvc.perform(MockMvcRequestBuilders.post("/sales-order/" + salesOrderCreated.getId() + "/item")
+                .content(cborMapper.writeValueAsBytes(orderItem))
+                .contentType(MediaType.valueOf("application/cbor"))
+                .accept(MediaType.valueOf("application/cbor")))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode created = cborMapper.readTree(mvcResult.getResponse().getContentAsByteArray());
+        assertThat(cborMapper.convertValue(created.at("/item/id"), UUID.class)).isEqualTo(product.getId());
+        assertThat(created.get("price").decimalValue()).isEqualByComparingTo("19.99");
+        assertThat(created.at("/_links/sales-order/href").asText()).isEqualTo("http://localhost/sales-order/" + salesOrderCreated.getId());
+    }
+
+}
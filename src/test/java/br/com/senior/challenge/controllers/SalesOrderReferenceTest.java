@@ -0,0 +1,73 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.entities.SalesOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.UnsupportedEncodingException;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unicidade da referência do pedido na inclusão e na alteração
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderReferenceTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper defaultMapper;
+
+    @Test
+    public void givenSalesOrder_whenCreateOrUpdateWithSameReference_thenReturnConflict() throws Exception {
+
+        perform("", HttpMethod.POST, getDefaultSalesOrder(), status().isOk());
+        perform("", HttpMethod.POST, getDefaultSalesOrder(), status().isConflict());
+
+        SalesOrder other = getDefaultSalesOrder();
+        other.setReference("outra referencia");
+        SalesOrder salesOrderToUpdate = read(perform("", HttpMethod.POST, other, status().isOk()), SalesOrder.class);
+        salesOrderToUpdate.setReference("referencia de teste");
+
+        perform("/" + salesOrderToUpdate.getId(), HttpMethod.PUT, salesOrderToUpdate, status().isConflict());
+    }
+
+    private SalesOrder getDefaultSalesOrder() {
+        return SalesOrderBuilder.newSalesOrder()
+                .withReference("referencia de teste")
+                .withComments("comentário de teste")
+                .build();
+    }
+
+    private MvcResult perform(String url, HttpMethod method, Object salesOrder, ResultMatcher expected) throws Exception {
+        return mvc.perform(MockMvcRequestBuilders
+                .request(method, "/sales-order" + url)
+                .content(defaultMapper.writeValueAsString(salesOrder))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(expected)
+                .andReturn();
+    }
+
+    private <T> T read(MvcResult mvcResult, Class<T> clazz) throws com.fasterxml.jackson.core.JsonProcessingException, UnsupportedEncodingException {
+        return defaultMapper.readValue(mvcResult.getResponse().getContentAsString(), clazz);
+    }
+
+}
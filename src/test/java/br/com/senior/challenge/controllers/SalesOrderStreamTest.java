@@ -0,0 +1,57 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.utils.AsyncMvc;
+import br.com.senior.challenge.utils.ControllerTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Transmissão dos pedidos e de seus itens em {@code application/stream+json}
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderStreamTest extends ControllerTestSupport {
+
+    @Test
+    public void givenSalesOrderItems_whenStream_thenReturnOrderItems() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, getDefaultItem("1", ItemType.PRODUCT)), status().isOk());
+        performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, getDefaultItem("2", ItemType.SERVICE)), status().isOk());
+        SalesOrder otherOrder = read(performOrder("", HttpMethod.POST, SalesOrderBuilder.newSalesOrder()
+                .withReference("outra referencia de teste")
+                .build(), status().isOk()), SalesOrder.class);
+        performOrder("/" + otherOrder.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(otherOrder, getDefaultItem("3", ItemType.PRODUCT)), status().isOk());
+
+        String stream = AsyncMvc.perform(mvc, MockMvcRequestBuilders.get("/sales-order/" + salesOrderCreated.getId() + "/item?size=1")
+                .accept(MediaType.APPLICATION_STREAM_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = stream.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(defaultMapper.readTree(lines[0]).at("/item/name").asText()).isNotEmpty();
+        assertThat(defaultMapper.readTree(lines[0]).at("/_links/self/href").asText())
+                .startsWith("http://localhost/sales-order/" + salesOrderCreated.getId() + "/item/");
+
+        stream = AsyncMvc.perform(mvc, MockMvcRequestBuilders.get("/sales-order?size=1")
+                .accept(MediaType.APPLICATION_STREAM_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(stream.split("\n")).hasSize(2);
+    }
+
+}
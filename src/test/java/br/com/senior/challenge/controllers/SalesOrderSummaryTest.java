@@ -0,0 +1,55 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.utils.ControllerTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listagem de pedidos pelo resumo mantido em sincronia com os itens e o status do pedido
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderSummaryTest extends ControllerTestSupport {
+
+    @Test
+    public void givenSalesOrderItems_whenList_thenReturnSummaryInSync() throws Exception {
+        SalesOrder salesOrderCreated = getDefaultSalesOrder();
+        performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, getDefaultItem("1", ItemType.PRODUCT)), status().isOk());
+        MvcResult mvcResult = performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, getDefaultItem("2", ItemType.SERVICE)), status().isOk());
+        SalesOrderItem serviceItem = read(mvcResult, SalesOrderItem.class);
+        performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, getDefaultItem("3", ItemType.PRODUCT)), status().isOk());
+        performOrder("/" + salesOrderCreated.getId() + "/item/" + serviceItem.getId(), HttpMethod.DELETE, serviceItem, status().isOk());
+
+        mvcResult = performOrder("?reference=referencia de teste", HttpMethod.GET, null, status().isOk());
+        JsonNode summary = read(mvcResult, JsonNode.class).at("/_embedded/sales-order/0");
+        assertThat(summary.get("id").asText()).isEqualTo(salesOrderCreated.getId().toString());
+        assertThat(summary.get("lineCount").asLong()).isEqualTo(2);
+        assertThat(summary.get("productsAmount").decimalValue()).isEqualByComparingTo("399.80");
+        assertThat(summary.get("servicesAmount").decimalValue()).isEqualByComparingTo("0");
+        assertThat(summary.get("total").decimalValue()).isEqualByComparingTo("399.80");
+        assertThat(summary.at("/_links/self/href").asText()).isEqualTo("http://localhost/sales-order/" + salesOrderCreated.getId());
+        assertThat(summary.at("/_links/cancel/href").asText()).isNotEmpty();
+
+        performOrder("/" + salesOrderCreated.getId() + "/cancel", HttpMethod.POST, null, status().isOk());
+        mvcResult = performOrder("", HttpMethod.GET, null, status().isOk());
+        summary = read(mvcResult, JsonNode.class).at("/_embedded/sales-order/0");
+        assertThat(summary.get("status").asText()).isEqualTo("CANCELED");
+        assertThat(summary.at("/_links/cancel").isMissingNode()).isTrue();
+    }
+
+}
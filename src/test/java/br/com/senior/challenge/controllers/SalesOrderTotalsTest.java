@@ -0,0 +1,69 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.resources.rules.SalesOrderRules;
+import br.com.senior.challenge.utils.ControllerTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Subtotais e total do pedido mantidos pela diferença de cada linha, que devem coincidir com o recálculo completo
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SalesOrderTotalsTest extends ControllerTestSupport {
+
+    @Autowired
+    private SalesOrderRules orderRules;
+
+    @Test
+    public void givenSalesOrderItems_whenCreateUpdateDelete_thenTotalMatchesFullRecalculation() throws Exception {
+        SalesOrder salesOrder = SalesOrderBuilder.newSalesOrder()
+                .withReference("referencia com desconto")
+                .withDiscount(BigDecimal.TEN)
+                .build();
+        MvcResult mvcResult = performOrder("", HttpMethod.POST, salesOrder, status().isOk());
+        SalesOrder salesOrderCreated = read(mvcResult, SalesOrder.class);
+        Item product = getDefaultItem("produto", ItemType.PRODUCT);
+        Item service = getDefaultItem("servico", ItemType.SERVICE);
+
+        mvcResult = performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, product), status().isOk());
+        SalesOrderItem productItem = read(mvcResult, SalesOrderItem.class);
+        mvcResult = performOrder("/" + salesOrderCreated.getId() + "/item", HttpMethod.POST, getDefaultSalesOrderItem(salesOrderCreated, service), status().isOk());
+        SalesOrderItem serviceItem = read(mvcResult, SalesOrderItem.class);
+        assertThat(orderRules.isConsistent(salesOrderCreated.getId())).isTrue();
+
+        productItem.setQuantity(BigDecimal.valueOf(20));
+        performOrder("/" + salesOrderCreated.getId() + "/item/" + productItem.getId(), HttpMethod.PUT, productItem, status().isOk());
+        assertThat(orderRules.isConsistent(salesOrderCreated.getId())).isTrue();
+
+        performOrder("/" + salesOrderCreated.getId() + "/item/" + serviceItem.getId(), HttpMethod.DELETE, serviceItem, status().isOk());
+        assertThat(orderRules.isConsistent(salesOrderCreated.getId())).isTrue();
+
+        mvcResult = performOrder("/" + salesOrderCreated.getId(), HttpMethod.GET, salesOrderCreated, status().isOk());
+        JsonNode salesOrderFound = read(mvcResult, JsonNode.class);
+        assertThat(salesOrderFound.get("productsAmount").decimalValue()).isEqualByComparingTo("399.80");
+        assertThat(salesOrderFound.get("servicesAmount").decimalValue()).isEqualByComparingTo("0");
+        assertThat(salesOrderFound.get("total").decimalValue()).isEqualByComparingTo("359.82");
+    }
+
+}
@@ -0,0 +1,159 @@
+package br.com.senior.challenge.controllers;
+
+import br.com.senior.challenge.SeniorChallengeApplication;
+import br.com.senior.challenge.builder.ItemBuilder;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.builder.SalesOrderItemBuilder;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.entities.enums.ItemType;
+import br.com.senior.challenge.utils.StatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Limite de comandos SQL por requisição dos endpoints de consulta. Uma página custa no máximo a consulta
+ * dos registros e a contagem, independente da quantidade de registros
+ */
+@SpringBootTest(classes = SeniorChallengeApplication.class, properties = StatementCounter.PROPERTY)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class StatementBudgetTest {
+
+    private static final int LINES = 10;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper defaultMapper;
+
+    @Test
+    public void givenItems_whenList_thenWithinBudget() throws Exception {
+        for (int i = 0; i < LINES; i++) {
+            createItem(i);
+        }
+
+        assertThat(countStatements("/item?size=" + LINES)).isLessThanOrEqualTo(2);
+        assertThat(countStatements("/item?size=" + LINES + "&after=")).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    public void givenItems_whenListTwice_thenServedFromCache() throws Exception {
+        for (int i = 0; i < LINES; i++) {
+            createItem(i);
+        }
+
+        assertThat(countStatements("/item?size=" + LINES)).isLessThanOrEqualTo(2);
+        assertThat(countStatements("/item?size=" + LINES)).isZero();
+
+        createItem(LINES);
+        assertThat(countStatements("/item?size=" + LINES)).isPositive();
+    }
+
+    @Test
+    public void givenSalesOrders_whenList_thenWithinBudget() throws Exception {
+        SalesOrder order = null;
+        for (int i = 0; i < LINES; i++) {
+            order = createOrder(i);
+        }
+
+        assertThat(countStatements("/sales-order?size=" + LINES)).isLessThanOrEqualTo(2);
+        assertThat(countStatements("/sales-order?size=" + LINES + "&after=")).isLessThanOrEqualTo(1);
+        assertThat(countStatements("/sales-order/" + order.getId())).isLessThanOrEqualTo(1);
+
+        StatementCounter.reset();
+        mvc.perform(MockMvcRequestBuilders.get("/sales-order/" + order.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + order.getVersion() + "\""))
+                .andExpect(status().isNotModified());
+        assertThat(StatementCounter.count()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    public void givenSalesOrders_whenBulkFulfill_thenWithinBudget() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            ids.add(createOrder(i).getId());
+        }
+
+        StatementCounter.reset();
+        perform("/sales-order/fulfill", HttpMethod.POST, ids);
+        assertThat(StatementCounter.count()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void givenSalesOrderItems_whenList_thenWithinBudget() throws Exception {
+        SalesOrder order = createOrder(0);
+        SalesOrderItem line = null;
+        for (int i = 0; i < LINES; i++) {
+            line = SalesOrderItemBuilder.newSalesOrder()
+                    .withSalesOrder(order)
+                    .withItem(createItem(i))
+                    .withPrice(BigDecimal.TEN)
+                    .withQuantity(BigDecimal.ONE)
+                    .build();
+            MvcResult mvcResult = perform("/sales-order/" + order.getId() + "/item", HttpMethod.POST, line);
+            line = defaultMapper.readValue(mvcResult.getResponse().getContentAsString(), SalesOrderItem.class);
+        }
+
+        assertThat(countStatements("/sales-order/" + order.getId() + "/item?size=" + LINES)).isLessThanOrEqualTo(2);
+        assertThat(countStatements("/sales-order/" + order.getId() + "/item?size=" + LINES + "&after=")).isLessThanOrEqualTo(1);
+        assertThat(countStatements("/sales-order/" + order.getId() + "/item/" + line.getId())).isLessThanOrEqualTo(1);
+        assertThat(countStatements("/sales-order/" + order.getId() + "?embed=itens")).isLessThanOrEqualTo(1);
+    }
+
+    private int countStatements(String url) throws Exception {
+        StatementCounter.reset();
+        mvc.perform(MockMvcRequestBuilders.get(url)).andExpect(status().isOk());
+        return StatementCounter.count();
+    }
+
+    private Item createItem(int index) throws Exception {
+        Item item = ItemBuilder.newItem()
+                .withName("produto para teste " + index)
+                .withType(ItemType.PRODUCT)
+                .withDescription("descrição do produto para teste")
+                .build();
+        MvcResult mvcResult = perform("/item", HttpMethod.POST, item);
+        return defaultMapper.readValue(mvcResult.getResponse().getContentAsString(), Item.class);
+    }
+
+    private SalesOrder createOrder(int index) throws Exception {
+        SalesOrder order = SalesOrderBuilder.newSalesOrder()
+                .withReference("referencia de teste " + index)
+                .build();
+        MvcResult mvcResult = perform("/sales-order", HttpMethod.POST, order);
+        return defaultMapper.readValue(mvcResult.getResponse().getContentAsString(), SalesOrder.class);
+    }
+
+    private MvcResult perform(String url, HttpMethod method, Object content) throws Exception {
+        return mvc.perform(MockMvcRequestBuilders
+                .request(method, url)
+                .content(defaultMapper.writeValueAsString(content))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+}
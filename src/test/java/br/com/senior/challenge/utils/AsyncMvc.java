@@ -0,0 +1,28 @@
+package br.com.senior.challenge.utils;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * Executa requisições no {@link MockMvc} aguardando a resposta quando o processamento assíncrono foi iniciado,
+ * como nos fluxos {@code application/stream+json} e com {@code controllers.async.enabled}
+ */
+public final class AsyncMvc {
+
+    private AsyncMvc() {
+    }
+
+    public static ResultActions perform(MockMvc mvc, RequestBuilder request) throws Exception {
+        ResultActions actions = mvc.perform(request);
+        MvcResult mvcResult = actions.andReturn();
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            return mvc.perform(asyncDispatch(mvcResult));
+        }
+        return actions;
+    }
+
+}
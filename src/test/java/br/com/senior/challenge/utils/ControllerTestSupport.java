@@ -0,0 +1,95 @@
+package br.com.senior.challenge.utils;
+
+import br.com.senior.challenge.builder.ItemBuilder;
+import br.com.senior.challenge.builder.SalesOrderBuilder;
+import br.com.senior.challenge.builder.SalesOrderItemBuilder;
+import br.com.senior.challenge.entities.Item;
+import br.com.senior.challenge.entities.SalesOrder;
+import br.com.senior.challenge.entities.SalesOrderItem;
+import br.com.senior.challenge.entities.enums.ItemType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base dos testes dos Controllers de itens e pedidos: requisições JSON pelo {@link MockMvc} e o cadastro dos
+ * registros padrão. As subclasses declaram o contexto ({@code @SpringBootTest}, {@code @AutoConfigureMockMvc})
+ */
+public abstract class ControllerTestSupport {
+
+    @Autowired
+    protected MockMvc mvc;
+
+    @Autowired
+    protected ObjectMapper defaultMapper;
+
+    protected SalesOrder getDefaultSalesOrder() throws Exception {
+        SalesOrder salesOrder = SalesOrderBuilder.newSalesOrder()
+                .withReference("referencia de teste")
+                .withComments("comentário de teste")
+                .build();
+        MvcResult mvcResult = performOrder("", HttpMethod.POST, salesOrder, status().isOk());
+        return read(mvcResult, SalesOrder.class);
+    }
+
+    protected Item getDefaultItem(String prefix, ItemType type, boolean active) throws Exception {
+        Item item = ItemBuilder.newItem()
+                .withName(prefix + " nome do produto para teste")
+                .withType(type)
+                .withDescription(prefix + "descrição do produto para teste")
+                .build();
+        MvcResult mvcResult = performItem("", HttpMethod.POST, item, status().isOk());
+        item = read(mvcResult, Item.class);
+        if (!active) {
+            mvcResult = performItem("/" + item.getId() + "/deactivate", HttpMethod.POST, item, status().isOk());
+            return read(mvcResult, Item.class);
+        } else {
+            return item;
+        }
+    }
+
+    protected Item getDefaultItem(String prefix, ItemType type) throws Exception {
+        return getDefaultItem(prefix, type, true);
+    }
+
+    protected SalesOrderItem getDefaultSalesOrderItem(SalesOrder order, Item item) {
+        return SalesOrderItemBuilder.newSalesOrder()
+                .withSalesOrder(order)
+                .withItem(item)
+                .withPrice(BigDecimal.valueOf(19.99))
+                .withQuantity(BigDecimal.valueOf(10))
+                .build();
+    }
+
+    protected MvcResult performOrder(String url, HttpMethod method, Object obj, ResultMatcher expected) throws Exception {
+        return perform("/sales-order" + url, method, obj, expected);
+    }
+
+    protected MvcResult performItem(String url, HttpMethod method, Object obj, ResultMatcher expected) throws Exception {
+        return perform("/item" + url, method, obj, expected);
+    }
+
+    protected MvcResult perform(String url, HttpMethod method, Object obj, ResultMatcher expected) throws Exception {
+        return mvc.perform(MockMvcRequestBuilders
+                .request(method, url)
+                .content(defaultMapper.writeValueAsString(obj))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(expected)
+                .andReturn();
+    }
+
+    protected <T> T read(MvcResult mvcResult, Class<T> clazz) throws com.fasterxml.jackson.core.JsonProcessingException, UnsupportedEncodingException {
+        return defaultMapper.readValue(mvcResult.getResponse().getContentAsString(), clazz);
+    }
+
+}
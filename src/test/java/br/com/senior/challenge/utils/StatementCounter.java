@@ -0,0 +1,31 @@
+package br.com.senior.challenge.utils;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate, para verificar o limite de consultas de cada endpoint.
+ * Registrado pela propriedade {@link #PROPERTY}
+ */
+public class StatementCounter implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.senior.challenge.utils.StatementCounter";
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+
+}